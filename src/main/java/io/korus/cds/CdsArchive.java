@@ -0,0 +1,161 @@
+package io.korus.cds;
+
+import io.korus.config.ConfigurationManager;
+import io.korus.console.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+public final class CdsArchive {
+
+    public static final String TRAIN_ARGUMENT = "--korus.cds.train";
+
+    private static final String RECORDING_PROPERTY = "korus.cds.recording";
+    private static final String RELAUNCHED_PROPERTY = "korus.cds.relaunched";
+    private static final String LOGGER = "c.k.f.cds.CdsArchive";
+
+    private CdsArchive() {
+    }
+
+    public static boolean isTrainingRequested(String[] args) {
+        return args != null && Arrays.asList(args).contains(TRAIN_ARGUMENT);
+    }
+
+    public static boolean isRecording() {
+        return Boolean.getBoolean(RECORDING_PROPERTY) || hasJvmOption("-XX:ArchiveClassesAtExit");
+    }
+
+    public static Path archivePath(Class<?> mainClass) {
+        String configured = ConfigurationManager.getInstance().getProperty("korus.cds.archive");
+        if (configured != null && !configured.isEmpty()) {
+            return Path.of(configured);
+        }
+        Path jar = applicationJar(mainClass);
+        if (jar != null) {
+            String name = jar.getFileName().toString();
+            return jar.resolveSibling(name.substring(0, name.length() - ".jar".length()) + ".jsa");
+        }
+        return Path.of("target", "korus-app.jsa");
+    }
+
+    public static int record(Class<?> mainClass, String[] args, Logger logger) throws IOException, InterruptedException {
+        Path archive = archivePath(mainClass).toAbsolutePath();
+        if (!isJarOnlyClassPath()) {
+            logger.warn(LOGGER, "Class path contains directories; only classes loaded from JAR files will be archived");
+        }
+        Path parent = archive.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        logger.info(LOGGER, "Training dynamic AppCDS archive " + archive);
+
+        int exitCode = launch(mainClass, args, RECORDING_PROPERTY, "-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=error");
+        if (exitCode == 0 && Files.isRegularFile(archive)) {
+            logger.info(LOGGER, String.format("AppCDS archive written to %s (%d KB)", archive, Files.size(archive) / 1024));
+        } else {
+            logger.error(LOGGER, "AppCDS training run exited with code " + exitCode);
+        }
+        return exitCode;
+    }
+
+    public static OptionalInt launchWithArchive(Class<?> mainClass, String[] args, Logger logger) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        if (!config.getBooleanProperty("korus.cds.auto", false)
+                || Boolean.getBoolean(RELAUNCHED_PROPERTY)
+                || hasJvmOption("-XX:SharedArchiveFile")
+                || hasJvmOption("-Xshare:off")
+                || hasJvmOption("-XX:ArchiveClassesAtExit")) {
+            return OptionalInt.empty();
+        }
+
+        Path jar = applicationJar(mainClass);
+        Path archive = archivePath(mainClass);
+        if (jar == null || !isJarOnlyClassPath() || !Files.isRegularFile(archive)) {
+            return OptionalInt.empty();
+        }
+
+        try {
+            if (Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(jar)) < 0) {
+                logger.warn(LOGGER, "Ignoring stale AppCDS archive " + archive + "; retrain with " + TRAIN_ARGUMENT);
+                return OptionalInt.empty();
+            }
+            return OptionalInt.of(launch(mainClass, args, RELAUNCHED_PROPERTY, "-XX:SharedArchiveFile=" + archive.toAbsolutePath()));
+        } catch (IOException e) {
+            logger.warn(LOGGER, "Failed to relaunch with AppCDS archive " + archive + ": " + e.getMessage());
+            return OptionalInt.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalInt.of(130);
+        }
+    }
+
+    private static int launch(Class<?> mainClass, String[] args, String marker, String... cdsOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.startsWith("-XX:SharedArchiveFile") && !argument.startsWith("-XX:ArchiveClassesAtExit")) {
+                command.add(argument);
+            }
+        }
+        command.addAll(Arrays.asList(cdsOptions));
+        command.add("-D" + marker + "=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        if (args != null) {
+            command.addAll(Arrays.asList(args));
+        }
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        Thread forwarder = new Thread(process::destroy, "korus-cds-shutdown");
+        Runtime.getRuntime().addShutdownHook(forwarder);
+        try {
+            return process.waitFor();
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(forwarder);
+            } catch (IllegalStateException ignored) {
+            }
+        }
+    }
+
+    private static boolean hasJvmOption(String prefix) {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJarOnlyClassPath() {
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty() && !entry.endsWith(".jar")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Path applicationJar(Class<?> mainClass) {
+        try {
+            CodeSource source = mainClass.getProtectionDomain().getCodeSource();
+            if (source == null) {
+                return null;
+            }
+            Path location = Path.of(source.getLocation().toURI());
+            return location.toString().endsWith(".jar") && Files.isRegularFile(location) ? location : null;
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+    }
+}
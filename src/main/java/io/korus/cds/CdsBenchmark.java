@@ -0,0 +1,92 @@
+package io.korus.cds;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CdsBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: CdsBenchmark <application.jar> [port] [runs] [archive.jsa]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        String jarName = jar.getFileName().toString();
+        Path archive = args.length > 3 ? Path.of(args[3]) : jar.resolveSibling(jarName.substring(0, jarName.length() - 4) + ".jsa");
+
+        if (!Files.isRegularFile(archive)) {
+            System.err.println("Archive " + archive + " not found; train it with: java -jar " + jar + " " + CdsArchive.TRAIN_ARGUMENT);
+            System.exit(1);
+        }
+
+        List<Long> baseline = measure(jar, port, runs, "-Xshare:auto");
+        List<Long> archived = measure(jar, port, runs, "-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+
+        report("default CDS", baseline);
+        report("AppCDS archive", archived);
+        System.out.printf("Median improvement: %.1f%%%n", 100.0 * (median(baseline) - median(archived)) / median(baseline));
+    }
+
+    private static List<Long> measure(Path jar, int port, int runs, String cdsOption) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i <= runs; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    cdsOption, "-Dkorus.cds.auto=false", "-Dserver.port=" + port,
+                    "-jar", jar.toString(), "--production")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitFirstResponse(port, process);
+                long elapsed = (System.nanoTime() - start) / 1_000_000;
+                if (i > 0) {
+                    samples.add(elapsed);
+                }
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        return samples;
+    }
+
+    private static void awaitFirstResponse(int port, Process process) throws IOException, InterruptedException {
+        URL url = URI.create("http://localhost:" + port + "/").toURL();
+        while (process.isAlive()) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(100);
+                connection.getResponseCode();
+                connection.disconnect();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IOException("Application exited with code " + process.exitValue() + " before serving a request");
+    }
+
+    private static void report(String label, List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        System.out.printf("%-16s time-to-first-request: min %d ms, median %d ms, max %d ms (%d runs)%n",
+                label, sorted.get(0), median(sorted), sorted.get(sorted.size() - 1), sorted.size());
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
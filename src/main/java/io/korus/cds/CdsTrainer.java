@@ -0,0 +1,79 @@
+package io.korus.cds;
+
+import io.korus.config.ConfigurationManager;
+import io.korus.console.Logger;
+import io.korus.context.ApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CdsTrainer {
+
+    private static final String LOGGER = "c.k.f.cds.CdsTrainer";
+
+    private final ApplicationContext context;
+    private final int port;
+    private final Logger logger;
+
+    public CdsTrainer(ApplicationContext context, int port, Logger logger) {
+        this.context = context;
+        this.port = port;
+        this.logger = logger;
+    }
+
+    public void exerciseRoutes() {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<String> selected = new ArrayList<>();
+        for (String route : ConfigurationManager.getInstance().getProperty("korus.cds.train.routes", "").split(",")) {
+            if (!route.trim().isEmpty()) {
+                selected.add(route.trim());
+            }
+        }
+
+        int exercised = 0;
+        int failed = 0;
+        for (Map.Entry<String, Map<String, ApplicationContext.ControllerMethod>> route : context.getRoutes().entrySet()) {
+            String path = route.getKey().replaceAll("\\{[^}]+\\}", "1");
+            for (String method : route.getValue().keySet()) {
+                if (!"GET".equals(method) && !selected.contains(method + " " + route.getKey())) {
+                    continue;
+                }
+                try {
+                    HttpResponse<byte[]> response = client.send(createRequest(method, path), HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() >= 500) {
+                        failed++;
+                    }
+                    exercised++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    failed++;
+                    logger.warn(LOGGER, "Training request " + method + " " + path + " failed: " + e.getMessage());
+                }
+            }
+        }
+        logger.info(LOGGER, String.format("Exercised %d routes for AppCDS training (%d returned errors)", exercised, failed));
+    }
+
+    private HttpRequest createRequest(String method, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method)) {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+        }
+        return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+    }
+}
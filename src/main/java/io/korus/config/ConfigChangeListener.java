@@ -0,0 +1,9 @@
+package io.korus.config;
+
+import java.util.Set;
+
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    void onChange(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changedKeys);
+}
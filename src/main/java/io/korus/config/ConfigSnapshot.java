@@ -0,0 +1,95 @@
+package io.korus.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public final class ConfigSnapshot {
+
+    private final Map<String, String> properties;
+    private final long version;
+
+    ConfigSnapshot(Map<String, String> properties, long version) {
+        this.properties = Map.copyOf(properties);
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, String> asMap() {
+        return properties;
+    }
+
+    public int size() {
+        return properties.size();
+    }
+
+    public String get(String key) {
+        return properties.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        return properties.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = properties.get(key);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid integer value for " + key + ": " + value);
+            }
+        }
+        return defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = properties.get(key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid long value for " + key + ": " + value);
+            }
+        }
+        return defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = properties.get(key);
+        if (value != null) {
+            return Boolean.parseBoolean(value.trim());
+        }
+        return defaultValue;
+    }
+
+    public Map<String, String> withPrefix(String prefix) {
+        Map<String, String> result = new HashMap<>();
+        String prefixWithDot = prefix.endsWith(".") ? prefix : prefix + ".";
+        properties.forEach((key, value) -> {
+            if (key.startsWith(prefixWithDot)) {
+                result.put(key.substring(prefixWithDot.length()), value);
+            }
+        });
+        return result;
+    }
+
+    Set<String> changedKeys(ConfigSnapshot other) {
+        Set<String> changed = new HashSet<>();
+        properties.forEach((key, value) -> {
+            if (!value.equals(other.properties.get(key))) {
+                changed.add(key);
+            }
+        });
+        other.properties.keySet().forEach(key -> {
+            if (!properties.containsKey(key)) {
+                changed.add(key);
+            }
+        });
+        return changed;
+    }
+}
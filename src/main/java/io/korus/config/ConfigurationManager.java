@@ -2,36 +2,51 @@ package io.korus.config;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Properties;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class ConfigurationManager {
 
-    private static ConfigurationManager instance;
-    private final Map<String, String> properties = new HashMap<>();
+    private static volatile ConfigurationManager instance;
     private final String activeProfile;
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+    private final Object notificationLock = new Object();
+    private volatile ConfigSnapshot snapshot;
+    private ConfigSnapshot delivered;
 
     private ConfigurationManager() {
         this.activeProfile = determineActiveProfile();
-        loadProperties();
+        this.snapshot = new ConfigSnapshot(loadProperties(), 1);
+        this.delivered = snapshot;
     }
 
 
     public int getPropertyCount() {
-        return properties.size();
+        return snapshot.size();
     }
 
     public Map<String, String> getAllProperties() {
-        return new HashMap<>(properties);
+        return new HashMap<>(snapshot.asMap());
     }
 
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
 
     public static ConfigurationManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigurationManager();
+        ConfigurationManager current = instance;
+        if (current == null) {
+            synchronized (ConfigurationManager.class) {
+                current = instance;
+                if (current == null) {
+                    current = new ConfigurationManager();
+                    instance = current;
+                }
+            }
         }
-        return instance;
+        return current;
     }
 
     private String determineActiveProfile() {
@@ -41,15 +56,18 @@ public class ConfigurationManager {
         return profile;
     }
 
-    private void loadProperties() {
-        loadPropertiesFile("application.properties");
-        if (!"default".equals(activeProfile)) loadPropertiesFile("application-" + activeProfile + ".properties");
+    private Map<String, String> loadProperties() {
+        Map<String, String> properties = new HashMap<>();
+        loadPropertiesFile("application.properties", properties);
+        if (!"default".equals(activeProfile)) loadPropertiesFile("application-" + activeProfile + ".properties", properties);
         properties.putAll(System.getenv());
         System.getProperties().forEach((key, value) ->
                 properties.put(key.toString(), value.toString()));
+        properties.putAll(overrides);
+        return properties;
     }
 
-    private void loadPropertiesFile(String fileName) {
+    private void loadPropertiesFile(String fileName, Map<String, String> properties) {
         InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName);
         if (inputStream != null) {
             try {
@@ -70,38 +88,24 @@ public class ConfigurationManager {
         }
     }
 
-
-    private void logProperty(String key, String defaultValue) {
-        String value = properties.getOrDefault(key, defaultValue);
-        System.out.println("   " + key + " = " + value);
-    }
-
     public String getProperty(String key) {
-        return properties.get(key);
+        return snapshot.get(key);
     }
 
     public String getProperty(String key, String defaultValue) {
-        return properties.getOrDefault(key, defaultValue);
+        return snapshot.get(key, defaultValue);
     }
 
     public int getIntProperty(String key, int defaultValue) {
-        String value = properties.get(key);
-        if (value != null) {
-            try {
-                return Integer.parseInt(value);
-            } catch (NumberFormatException e) {
-                System.err.println("Invalid integer value for " + key + ": " + value);
-            }
-        }
-        return defaultValue;
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public long getLongProperty(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
     }
 
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.get(key);
-        if (value != null) {
-            return Boolean.parseBoolean(value);
-        }
-        return defaultValue;
+        return snapshot.getBoolean(key, defaultValue);
     }
 
     public String resolveValue(String valueExpression) {
@@ -119,25 +123,95 @@ public class ConfigurationManager {
     }
 
     public Map<String, String> getPropertiesWithPrefix(String prefix) {
-        Map<String, String> result = new HashMap<>();
-        String prefixWithDot = prefix.endsWith(".") ? prefix : prefix + ".";
-
-        properties.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(prefixWithDot))
-                .forEach(entry -> {
-                    String key = entry.getKey().substring(prefixWithDot.length());
-                    result.put(key, entry.getValue());
-                });
-
-        return result;
+        return snapshot.withPrefix(prefix);
     }
 
     public String getActiveProfile() {
         return activeProfile;
     }
 
+    public void addChangeListener(ConfigChangeListener listener) {
+        addChangeListener("", listener);
+    }
+
+    public void addChangeListener(String prefix, ConfigChangeListener listener) {
+        listeners.add(new Registration(prefix, listener));
+    }
+
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.removeIf(registration -> registration.listener == listener);
+    }
+
+    public void setProperty(String key, String value) {
+        update(Collections.singletonMap(key, value));
+    }
+
+    public void update(Map<String, String> changes) {
+        synchronized (this) {
+            changes.forEach((key, value) -> {
+                if (value == null) {
+                    overrides.remove(key);
+                } else {
+                    overrides.put(key, value);
+                }
+            });
+        }
+        reload();
+    }
+
     public void reload() {
-        properties.clear();
-        loadProperties();
+        ConfigSnapshot current;
+        synchronized (this) {
+            current = new ConfigSnapshot(loadProperties(), snapshot.getVersion() + 1);
+            snapshot = current;
+        }
+        synchronized (notificationLock) {
+            ConfigSnapshot previous = delivered;
+            if (current.getVersion() <= previous.getVersion()) {
+                return;
+            }
+            delivered = current;
+            Set<String> changed = current.changedKeys(previous);
+            if (!changed.isEmpty()) {
+                notifyListeners(previous, current, changed);
+            }
+        }
+    }
+
+    private void notifyListeners(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changed) {
+        for (Registration registration : listeners) {
+            Set<String> relevant = registration.filter(changed);
+            if (relevant.isEmpty()) {
+                continue;
+            }
+            try {
+                registration.listener.onChange(previous, current, relevant);
+            } catch (RuntimeException e) {
+                System.err.println("Configuration listener failed for " + relevant + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static class Registration {
+        private final String prefix;
+        private final ConfigChangeListener listener;
+
+        Registration(String prefix, ConfigChangeListener listener) {
+            this.prefix = prefix;
+            this.listener = listener;
+        }
+
+        Set<String> filter(Set<String> changed) {
+            if (prefix.isEmpty()) {
+                return changed;
+            }
+            Set<String> relevant = new HashSet<>();
+            for (String key : changed) {
+                if (key.startsWith(prefix)) {
+                    relevant.add(key);
+                }
+            }
+            return relevant;
+        }
     }
 }
@@ -87,42 +87,14 @@ public class Logger {
                 String.format("HHH000412: Hibernate ORM core version %s", actualVersion));
     }
 
-    public void logHibernateCacheDisabled() {
-        info("o.h.c.internal.RegionFactoryInitiator", "HHH000026: Second-level cache disabled");
+    public void logSecondLevelCache(boolean enabled) {
+        info("o.h.c.internal.RegionFactoryInitiator",
+                enabled ? "HHH000025: Second-level cache region factory initialized" : "HHH000026: Second-level cache disabled");
     }
 
-    public void logNoLoadTimeWeaver() {
-        info("o.s.o.j.p.SpringPersistenceUnitInfo", "No LoadTimeWeaver setup: ignoring JPA class transformer");
-    }
-
-    public void logDataSourceStarting() {
-        info("com.zaxxer.hikari.HikariDataSource", "HikariPool-1 - Starting...");
-    }
-
-    public void logDataSourceConnection(String connectionDetails) {
-        info("com.zaxxer.hikari.pool.HikariPool",
-                String.format("HikariPool-1 - Added connection %s", connectionDetails));
-    }
-
-    public void logDataSourceStarted() {
-        info("com.zaxxer.hikari.HikariDataSource", "HikariPool-1 - Start completed.");
-    }
-
-    public void logHibernateWarnings() {
-        warn("org.hibernate.orm.deprecation",
-                "HHH90000025: MySQL8Dialect does not need to be specified explicitly using 'hibernate.dialect' (remove the property setting and it will be selected by default)");
-        warn("org.hibernate.orm.deprecation",
-                "HHH90000026: MySQL8Dialect has been deprecated; use org.hibernate.dialect.MySQLDialect instead");
-    }
-
-    public void logNoJtaPlatform() {
-        info("o.h.e.t.j.p.i.JtaPlatformInitiator",
-                "HHH000489: No JTA platform available (set 'hibernate.transaction.jta.platform' to enable JTA platform integration)");
-    }
-
-    public void logEntityManagerFactoryInitialized() {
-        info("j.LocalContainerEntityManagerFactoryBean",
-                "Initialized JPA EntityManagerFactory for persistence unit 'default'");
+    public void logSessionFactoryInitialized(int entityCount, long timeTaken) {
+        info("c.k.f.hibernate.HibernateInitializer",
+                String.format("Initialized SessionFactory for %d entities in %d ms", entityCount, timeTaken));
     }
 
     public void logRepositoriesCreated(int actualRepoCount, long timeTaken, String[] repositoryNames) {
@@ -155,6 +127,22 @@ public class Logger {
                         actualRouteCount, actualControllerCount, String.join(", ", controllerNames)));
     }
 
+    public void logStartupSchedule(boolean parallel, java.util.Map<String, Long> phaseTimes, long wallTime, long serialTime) {
+        StringBuilder phases = new StringBuilder();
+        phaseTimes.forEach((phase, time) -> {
+            if (phases.length() > 0) phases.append(", ");
+            phases.append(phase).append('=').append(time).append(" ms");
+        });
+        info("c.k.f.context.StartupScheduler",
+                String.format("Context phases completed in %d ms wall-clock (%d ms serial, %s): [%s]",
+                        wallTime, serialTime, parallel ? "parallel" : "sequential", phases));
+    }
+
+    public void logStartupReport(String location, java.util.List<String> slowestBeans) {
+        info("c.k.f.context.StartupTimeline",
+                String.format("Startup report written to %s; slowest beans: %s", location, slowestBeans));
+    }
+
     public void logWebServerInitializing(int actualPort) {
         info("c.k.f.web.embedded.UndertowWebServer",
                 String.format("Undertow initialized with port %d (http)", actualPort));
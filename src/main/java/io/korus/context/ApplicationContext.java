@@ -3,27 +3,46 @@ package io.korus.context;
 import io.korus.console.Logger;
 import io.korus.core.annotations.*;
 import io.korus.data.JpaRepository;
+import io.korus.intercept.Advised;
+import io.korus.intercept.InterceptorProvider;
+import io.korus.data.ConnectionAcquisitionListener;
+import io.korus.data.SessionLease;
 import io.korus.data.SimpleJpaRepository;
+import io.korus.data.pool.ConnectionPools;
+import io.korus.data.routing.DataSourceRouting;
+import io.korus.data.routing.LoadBalancingPolicy;
+import io.korus.data.routing.RoutingConnectionProvider;
 import io.korus.data.annotation.Query;
 import io.korus.data.annotation.Repository;
 import io.korus.transaction.ProxyFactory;
+import io.korus.transaction.TransactionContext;
 import io.korus.transaction.TransactionManager;
 import io.korus.transaction.annotation.Transactional;
 import io.korus.web.annotaion.*;
+import io.korus.web.socket.WebSocketBroadcaster;
+import io.korus.web.socket.WebSocketHandler;
+import com.zaxxer.hikari.HikariDataSource;
 import org.hibernate.*;
 import org.hibernate.boot.*;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
+import javax.sql.DataSource;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.nio.channels.ReadableByteChannel;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
-import org.reflections.Reflections;
 
+import io.korus.config.ConfigChangeListener;
 import io.korus.config.ConfigurationManager;
 
 public class ApplicationContext {
@@ -31,25 +50,33 @@ public class ApplicationContext {
     private final Map<Class<?>, Object> beans = new LinkedHashMap<>();
     private final Map<String, Object> namedBeans = new HashMap<>();
     private String basePackage;
-    private SessionFactory sessionFactory;
+    private ComponentIndex componentIndex;
+    private boolean lazyInit;
+    private final LazyBeanFactory lazyBeanFactory = new LazyBeanFactory();
+    private final Map<Class<?>, LazyBeanFactory.LazyBean> lazyBeans = new java.util.concurrent.ConcurrentHashMap<>();
+    private ProxyFactory transactionProxyFactory;
+    private TransactionManager transactionManager;
+    private final List<RepositoryInvocationHandler> repositoryHandlers = new CopyOnWriteArrayList<>();
+    private volatile BeanIndex beanIndex = BeanIndex.EMPTY;
+    private volatile boolean ready;
+    private final List<ConfigChangeListener> configListeners = new ArrayList<>();
+    private volatile SessionFactory sessionFactory;
     private final Map<String, Map<String, ControllerMethod>> routes = new HashMap<>();
+    private final WebSocketBroadcaster webSocketBroadcaster = new WebSocketBroadcaster();
 
     private final Logger logger = new Logger("korus-framework");
 
-    private long startTime;
-    private long configLoadTime;
-    private long hibernateInitTime;
-    private long beansCreatedTime;
-    private long webContextInitTime;
+    private StartupTimeline timeline = new StartupTimeline();
 
     public void scan(String basePackage) {
         this.basePackage = basePackage;
     }
 
     public void start() throws Exception {
+        ready = false;
         printBanner();
 
-        this.startTime = System.currentTimeMillis();
+        timeline = new StartupTimeline();
 
         String javaVersion = System.getProperty("java.version");
         logger.logApplicationStart(javaVersion);
@@ -58,14 +85,18 @@ public class ApplicationContext {
         logger.logProfileActive(activeProfile);
 
         logger.logConfigurationStart();
-        long configStartTime = System.currentTimeMillis();
-
-        ConfigurationManager config = ConfigurationManager.getInstance();
+        ConfigurationManager config = timeline.phase("configuration", ConfigurationManager::getInstance);
+        configListeners.forEach(config::removeChangeListener);
+        configListeners.clear();
         int actualPropertiesLoaded = config.getAllProperties().size();
-        this.configLoadTime = System.currentTimeMillis() - configStartTime;
         logger.logConfigurationLoaded("application.properties", actualPropertiesLoaded);
         logger.logTotalPropertiesLoaded(actualPropertiesLoaded);
 
+        componentIndex = timeline.phase("component-index", () -> ComponentIndex.load(basePackage));
+        if (componentIndex.isIndexed()) {
+            logger.info("c.k.f.context.ComponentIndex", "Using compile-time component index " + ComponentIndex.LOCATION);
+        }
+
         Set<Class<?>> entities = scanEntities();
         String[] entityNames = entities.stream()
                 .map(Class::getSimpleName)
@@ -73,58 +104,91 @@ public class ApplicationContext {
         logger.logEntitiesFound(entities.size(), entityNames);
 
 
-        long hibernateStartTime = System.currentTimeMillis();
-
-        logger.logHibernateCacheDisabled();
-        logger.logNoLoadTimeWeaver();
-        logger.logDataSourceStarting();
-
-        initHibernate(entities);
-        String hibernateVersion = org.hibernate.Version.getVersionString();
-        logger.logHibernateVersion(hibernateVersion);
-
-        logger.logDataSourceConnection("com.mysql.cj.jdbc.ConnectionImpl@" + Integer.toHexString(this.hashCode()));
-        logger.logDataSourceStarted();
-
-        logger.logHibernateWarnings();
-        logger.logNoJtaPlatform();
-        logger.logEntityManagerFactoryInitialized();
-
-        this.hibernateInitTime = System.currentTimeMillis() - hibernateStartTime;
-
-        long repoStartTime = System.currentTimeMillis();
-
-        createRepositoryBeans();
-        long repoCreationTime = System.currentTimeMillis() - repoStartTime;
-
-        String[] repositoryNames = getActualRepositoryNames();
-        logger.logRepositoriesCreated(repositoryNames.length, repoCreationTime, repositoryNames);
-
-        long beanStartTime = System.currentTimeMillis();
-        scanAndCreateBeans();
-        this.beansCreatedTime = System.currentTimeMillis() - beanStartTime;
-
-        String[] beanNames = getActualBeanNames();
-        logger.logBeansCreated(beanNames.length, beanNames);
-
-        createTransactionalProxies();
-        String[] transactionalBeanNames = getActualTransactionalBeanNames();
-        logger.logTransactionalProxiesCreated(transactionalBeanNames.length, transactionalBeanNames);
-        int proxyCount = countTransactionalProxies();
-
-
-        injectProperties();
-        injectDependencies();
+        lazyInit = config.getBooleanProperty("korus.lazy-init", false);
+        lazyBeans.clear();
+        transactionProxyFactory = null;
+        transactionManager = null;
+        repositoryHandlers.clear();
+        beanIndex = BeanIndex.EMPTY;
+        boolean parallelStartup = config.getBooleanProperty("korus.startup.parallel", true);
+        int startupThreads = config.getIntProperty("korus.startup.threads", 2);
+        long wallStartTime = System.nanoTime();
+
+        try (StartupScheduler scheduler = new StartupScheduler(parallelStartup, startupThreads, timeline)) {
+            CompletableFuture<SessionFactory> sessionFactoryFuture = null;
+            if (entities.isEmpty()) {
+                sessionFactory = null;
+                logger.info("c.k.f.hibernate.HibernateInitializer", "No JPA entities found; skipping Hibernate bootstrap");
+            } else if (lazyInit) {
+                sessionFactory = DeferredSessionFactory.onDemand(() -> bootstrapHibernate(entities));
+                logger.info("c.k.f.hibernate.HibernateInitializer", "Lazy initialization enabled; Hibernate will bootstrap on first use");
+            } else {
+                sessionFactoryFuture = scheduler.submit("hibernate", () -> bootstrapHibernate(entities));
+                sessionFactory = sessionFactoryFuture.isDone()
+                        ? StartupScheduler.await(sessionFactoryFuture)
+                        : DeferredSessionFactory.of(sessionFactoryFuture);
+            }
+            if (sessionFactory != null) {
+                beans.put(SessionFactory.class, sessionFactory);
+                namedBeans.put("sessionFactory", sessionFactory);
+            }
 
-        long webContextStartTime = System.currentTimeMillis();
-        this.webContextInitTime = System.currentTimeMillis() - webContextStartTime;
-        logger.logWebApplicationContextCompleted(logger.getElapsedTime());
+            scheduler.run("repositories", () -> {
+                long repoStartTime = System.nanoTime();
+
+                createRepositoryBeans();
+                long repoCreationTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - repoStartTime);
+
+                String[] repositoryNames = getActualRepositoryNames();
+                logger.logRepositoriesCreated(repositoryNames.length, repoCreationTime, repositoryNames);
+            });
+
+            scheduler.run("beans", () -> {
+                beans.put(WebSocketBroadcaster.class, webSocketBroadcaster);
+                namedBeans.put("webSocketBroadcaster", webSocketBroadcaster);
+                scanAndCreateBeans(scheduler);
+
+                String[] beanNames = getActualBeanNames();
+                logger.logBeansCreated(beanNames.length, beanNames);
+            });
+
+            scheduler.run("proxies", () -> {
+                createTransactionalProxies();
+                String[] transactionalBeanNames = getActualTransactionalBeanNames();
+                logger.logTransactionalProxiesCreated(transactionalBeanNames.length, transactionalBeanNames);
+            });
+
+            scheduler.run("injection", () -> {
+                beanIndex = BeanIndex.build(beans, this::getBeanName);
+                injectProperties();
+                injectDependencies();
+                registerConfigListeners(config);
+            });
+
+            logger.logWebApplicationContextCompleted(timeline.getElapsedMillis());
+
+            scheduler.run("controllers", () -> {
+                scanControllers();
+                String[] controllerNames = getActualControllerNames();
+                int totalRoutes = getTotalRouteCount();
+                logger.logControllersRegistered(controllerNames.length, totalRoutes, controllerNames);
+
+                scanWebSocketEndpoints();
+                if (!webSocketBroadcaster.getPaths().isEmpty()) {
+                    logger.info("c.k.f.web.socket.WebSocketBroadcaster",
+                            String.format("Mapped %d WebSocket endpoints: %s", webSocketBroadcaster.getPaths().size(), webSocketBroadcaster.getPaths()));
+                }
+            });
 
+            if (sessionFactoryFuture != null) {
+                StartupScheduler.await(sessionFactoryFuture);
+            }
+            DeferredSessionFactory.whenReady(sessionFactory, this::rebindSessionFactory);
 
-        scanControllers();
-        String[] controllerNames = getActualControllerNames();
-        int totalRoutes = getTotalRouteCount();
-        logger.logControllersRegistered(controllerNames.length, totalRoutes, controllerNames);
+            long wallTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - wallStartTime);
+            logger.logStartupSchedule(scheduler.isParallel(), scheduler.getPhaseTimesMillis(), wallTime, scheduler.getSerialTimeMillis());
+            writeStartupReport(config, scheduler.isParallel());
+        }
         logger.info("c.k.f.KorusApplication", "KorusApplication startup completed");
 
         printRegisteredBeans();
@@ -325,20 +389,25 @@ public class ApplicationContext {
 
     private void createTransactionalProxies() {
 
-        TransactionManager transactionManager = new TransactionManager(sessionFactory);
-        ProxyFactory proxyFactory = new ProxyFactory(transactionManager);
+        ProxyFactory proxyFactory = getTransactionProxyFactory();
         Map<Class<?>, Object> transactionalBeans = new HashMap<>();
 
+        for (Object bean : beans.values()) {
+            if (bean instanceof InterceptorProvider) {
+                proxyFactory.addInterceptorProvider((InterceptorProvider) bean);
+            }
+        }
+
         for (Map.Entry<Class<?>, Object> entry : new HashMap<>(beans).entrySet()) {
             Class<?> beanClass = entry.getKey();
             Object beanInstance = entry.getValue();
-            if (shouldSkipProxying(beanClass)) {
+            if (shouldSkipProxying(beanClass) || lazyBeans.containsKey(beanClass)
+                    || beanInstance instanceof InterceptorProvider) {
                 continue;
             }
-            if (hasTransactionalAnnotation(beanClass)) {
-                Object proxy = proxyFactory.createProxy(beanInstance);
+            Object proxy = proxyFactory.createProxy(beanInstance);
+            if (proxy != beanInstance) {
                 transactionalBeans.put(beanClass, proxy);
-            } else {
             }
         }
 
@@ -347,6 +416,26 @@ public class ApplicationContext {
 
     }
 
+    private synchronized void rebindSessionFactory(SessionFactory resolved) {
+        sessionFactory = resolved;
+        if (transactionManager != null) {
+            transactionManager.setSessionFactory(resolved);
+        }
+        for (RepositoryInvocationHandler handler : repositoryHandlers) {
+            handler.setSessionFactory(resolved);
+        }
+        beans.put(SessionFactory.class, resolved);
+        namedBeans.put("sessionFactory", resolved);
+    }
+
+    private synchronized ProxyFactory getTransactionProxyFactory() {
+        if (transactionProxyFactory == null) {
+            transactionManager = new TransactionManager(sessionFactory);
+            transactionProxyFactory = new ProxyFactory(transactionManager);
+        }
+        return transactionProxyFactory;
+    }
+
     private boolean shouldSkipProxying(Class<?> beanClass) {
         return beanClass.equals(SessionFactory.class) ||
                 beanClass.getName().startsWith("com.korus.framework.data") ||
@@ -381,25 +470,68 @@ public class ApplicationContext {
         }
     }
 
-    private void initHibernate(Set<Class<?>> entities) {
+    private SessionFactory bootstrapHibernate(Set<Class<?>> entities) {
+        long hibernateStartTime = System.nanoTime();
+        logger.logHibernateVersion(org.hibernate.Version.getVersionString());
+
+        SessionFactory factory = initHibernate(entities);
+        logger.logSecondLevelCache(factory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        logger.logSessionFactoryInitialized(entities.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - hibernateStartTime));
+        return factory;
+    }
+
+    private void writeStartupReport(ConfigurationManager config, boolean parallel) {
+        String location = config.getProperty("korus.startup.report", "target/korus-startup.json");
+        if (location == null || location.isEmpty() || "none".equals(location)) {
+            return;
+        }
+        try {
+            timeline.writeReport(java.nio.file.Path.of(location), parallel);
+            List<String> slowest = new ArrayList<>();
+            for (StartupTimeline.Entry entry : timeline.getComponents(StartupTimeline.BEAN)) {
+                if (slowest.size() == 3) break;
+                slowest.add(entry.getName() + "=" + TimeUnit.NANOSECONDS.toMicros(entry.getDurationNanos()) + "us");
+            }
+            logger.logStartupReport(location, slowest);
+        } catch (IOException e) {
+            logger.warn("c.k.f.context.StartupTimeline", "Failed to write startup report " + location + ": " + e.getMessage());
+        }
+    }
+
+    public SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    public StartupTimeline getStartupTimeline() {
+        return timeline;
+    }
+
+    private SessionFactory initHibernate(Set<Class<?>> entities) {
+        RoutingConnectionProvider provider = null;
         try {
             ConfigurationManager config = ConfigurationManager.getInstance();
             Properties hibernateProps = new Properties();
 
             Map<String, String> keyMap = Map.of(
-                    "hibernate.connection.driver_class",
-                    config.getProperty("hibernate.connection.driver_class", "com.mysql.cj.jdbc.Driver"),
-                    "hibernate.connection.url", config.getProperty("hibernate.connection.url"),
-                    "hibernate.connection.username", config.getProperty("hibernate.connection.username"),
-                    "hibernate.connection.password", config.getProperty("hibernate.connection.password"),
                     "hibernate.dialect",
                     config.getProperty("hibernate.dialect", "org.hibernate.dialect.MySQLDialect"),
                     "hibernate.hbm2ddl.auto", config.getProperty("hibernate.hbm2ddl.auto", "update"),
                     "hibernate.show_sql", config.getProperty("hibernate.show_sql", "false"),
-                    "hibernate.format_sql", config.getProperty("hibernate.format_sql", "false")
+                    "hibernate.format_sql", config.getProperty("hibernate.format_sql", "false"),
+                    "hibernate.jdbc.batch_size", config.getProperty("hibernate.jdbc.batch_size", "50"),
+                    "hibernate.order_inserts", config.getProperty("hibernate.order_inserts", "true"),
+                    "hibernate.order_updates", config.getProperty("hibernate.order_updates", "true"),
+                    "hibernate.jdbc.batch_versioned_data",
+                    config.getProperty("hibernate.jdbc.batch_versioned_data", "true")
             );
 
             hibernateProps.putAll(keyMap);
+            hibernateProps.put(org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    ConnectionAcquisitionListener.class.getName());
+            provider = createRoutingConnectionProvider(config);
+            hibernateProps.put(org.hibernate.cfg.AvailableSettings.CONNECTION_PROVIDER, provider);
 
             StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
                     .applySettings(hibernateProps);
@@ -410,62 +542,69 @@ public class ApplicationContext {
             }
 
             Metadata metadata = metadataSources.getMetadataBuilder().build();
-            sessionFactory = metadata.getSessionFactoryBuilder().build();
-
-            beans.put(SessionFactory.class, sessionFactory);
-            namedBeans.put("sessionFactory", sessionFactory);
+            return metadata.getSessionFactoryBuilder().build();
 
         } catch (Exception e) {
+            if (provider != null) {
+                provider.stop();
+            }
             logger.error("c.k.f.hibernate.HibernateInitializer",
                     "Failed to initialize Hibernate: " + e.getMessage());
             throw new RuntimeException("Failed to initialize Hibernate", e);
         }
     }
 
+    private RoutingConnectionProvider createRoutingConnectionProvider(ConfigurationManager config) {
+        String username = config.getProperty("hibernate.connection.username");
+        String password = config.getProperty("hibernate.connection.password");
+        HikariDataSource primary = ConnectionPools.create("korus-primary",
+                config.getProperty("hibernate.connection.url"), username, password);
+        logger.info("c.k.f.hibernate.HibernateInitializer", "Connection pool " + primary.getPoolName()
+                + " started with maximumPoolSize=" + primary.getMaximumPoolSize());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        try {
+            for (String name : config.getProperty("korus.datasource.replicas", "").split(",")) {
+                name = name.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String prefix = "korus.datasource.replica." + name + ".";
+                String url = config.getProperty(prefix + "url");
+                if (url == null) {
+                    throw new IllegalStateException("Missing " + prefix + "url for replica " + name);
+                }
+                replicas.put(name, ConnectionPools.create("korus-replica-" + name, url,
+                        config.getProperty(prefix + "username", username),
+                        config.getProperty(prefix + "password", password)));
+            }
+        } catch (RuntimeException e) {
+            primary.close();
+            replicas.values().forEach(replica -> ((HikariDataSource) replica).close());
+            throw e;
+        }
+        if (!replicas.isEmpty()) {
+            logger.info("c.k.f.hibernate.HibernateInitializer", "Routing read-only work to replicas " + replicas.keySet());
+        }
+        return new RoutingConnectionProvider(primary, replicas,
+                LoadBalancingPolicy.fromProperty(config.getProperty("korus.datasource.load-balancing")),
+                Boolean.parseBoolean(config.getProperty("korus.datasource.read-your-writes", "true")));
+    }
+
     private Set<Class<?>> scanEntities() {
-        Reflections reflections = new Reflections(basePackage);
-        Set<Class<?>> entities = reflections.getTypesAnnotatedWith(jakarta.persistence.Entity.class);
-        return entities;
+        return componentIndex.getTypes(ComponentIndex.ENTITY);
     }
 
     private void createRepositoryBeans() {
-        Reflections reflections = new Reflections(basePackage);
-        Set<Class<?>> repositoryClasses = reflections.getTypesAnnotatedWith(Repository.class);
+        Set<Class<?>> repositoryClasses = componentIndex.getTypes(ComponentIndex.REPOSITORY);
 
         for (Class<?> repoClass : repositoryClasses) {
             if (repoClass.isInterface() && JpaRepository.class.isAssignableFrom(repoClass)) {
                 try {
-                    Type[] genericInterfaces = repoClass.getGenericInterfaces();
-                    Class<?> entityClass = null;
-
-                    for (Type genericInterface : genericInterfaces) {
-                        if (genericInterface instanceof ParameterizedType) {
-                            ParameterizedType paramType = (ParameterizedType) genericInterface;
-                            Type rawType = paramType.getRawType();
-
-                            if (rawType instanceof Class && JpaRepository.class.isAssignableFrom((Class<?>) rawType)) {
-                                Type[] typeArgs = paramType.getActualTypeArguments();
-                                if (typeArgs.length >= 1) {
-                                    entityClass = (Class<?>) typeArgs[0];
-                                    break;
-                                }
-                            }
-                        }
-                    }
-
-                    if (entityClass != null) {
-                        SimpleJpaRepository<?, ?> repoImpl = new SimpleJpaRepository<>(sessionFactory, entityClass);
-                        Object proxyInstance = Proxy.newProxyInstance(
-                                repoClass.getClassLoader(),
-                                new Class[]{repoClass},
-                                new RepositoryInvocationHandler(repoImpl, repoClass, sessionFactory, entityClass)
-                        );
-
-                        beans.put(repoClass, proxyInstance);
-                        String beanName = getBeanName(repoClass);
-                        namedBeans.put(beanName, proxyInstance);
-                    }
-
+                    timeline.component(StartupTimeline.REPOSITORY, getBeanName(repoClass), repoClass, () -> {
+                        createRepositoryBean(repoClass);
+                        return null;
+                    });
                 } catch (Exception e) {
                     System.err.println("Failed to create repository for " + repoClass.getSimpleName() + ": " + e.getMessage());
                     e.printStackTrace();
@@ -474,10 +613,45 @@ public class ApplicationContext {
         }
     }
 
+    private void createRepositoryBean(Class<?> repoClass) {
+        Type[] genericInterfaces = repoClass.getGenericInterfaces();
+        Class<?> entityClass = null;
+
+        for (Type genericInterface : genericInterfaces) {
+            if (genericInterface instanceof ParameterizedType) {
+                ParameterizedType paramType = (ParameterizedType) genericInterface;
+                Type rawType = paramType.getRawType();
+
+                if (rawType instanceof Class && JpaRepository.class.isAssignableFrom((Class<?>) rawType)) {
+                    Type[] typeArgs = paramType.getActualTypeArguments();
+                    if (typeArgs.length >= 1) {
+                        entityClass = (Class<?>) typeArgs[0];
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (entityClass != null) {
+            SimpleJpaRepository<?, ?> repoImpl = new SimpleJpaRepository<>(sessionFactory, entityClass);
+            RepositoryInvocationHandler handler = new RepositoryInvocationHandler(repoImpl, repoClass, sessionFactory, entityClass);
+            repositoryHandlers.add(handler);
+            Object proxyInstance = Proxy.newProxyInstance(
+                    repoClass.getClassLoader(),
+                    new Class[]{repoClass},
+                    handler
+            );
+
+            beans.put(repoClass, proxyInstance);
+            String beanName = getBeanName(repoClass);
+            namedBeans.put(beanName, proxyInstance);
+        }
+    }
+
     private static class RepositoryInvocationHandler implements InvocationHandler {
         private final Object target;
         private final Class<?> repositoryInterface;
-        private final SessionFactory sessionFactory;
+        private volatile SessionFactory sessionFactory;
         private final Class<?> entityClass;
 
         public RepositoryInvocationHandler(Object target, Class<?> repositoryInterface, SessionFactory sessionFactory, Class<?> entityClass) {
@@ -487,12 +661,43 @@ public class ApplicationContext {
             this.entityClass = entityClass;
         }
 
+        void setSessionFactory(SessionFactory sessionFactory) {
+            this.sessionFactory = sessionFactory;
+            ((SimpleJpaRepository<?, ?>) target).setSessionFactory(sessionFactory);
+        }
+
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
             if (method.getDeclaringClass() == Object.class) {
                 return method.invoke(this, args);
             }
+            if (TransactionContext.hasActiveTransaction()) {
+                return dispatch(method, args);
+            }
+            if (isReadMethod(method)) {
+                boolean previous = DataSourceRouting.routeToReplica(true);
+                try {
+                    return dispatch(method, args);
+                } finally {
+                    DataSourceRouting.restoreRoute(previous);
+                }
+            }
+            Object result = dispatch(method, args);
+            DataSourceRouting.markWrite();
+            return result;
+        }
+
+        private boolean isReadMethod(Method method) {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == void.class || returnType == Void.class) {
+                return false;
+            }
+            String name = method.getName();
+            return name.startsWith("find") || name.startsWith("get") || name.startsWith("count")
+                    || name.startsWith("exists") || method.isAnnotationPresent(Query.class);
+        }
 
+        private Object dispatch(Method method, Object[] args) throws Throwable {
             if (method.isAnnotationPresent(Query.class)) {
                 return handleQueryAnnotation(method, args);
             }
@@ -518,7 +723,8 @@ public class ApplicationContext {
             String queryString = queryAnnotation.value();
             boolean isNative = queryAnnotation.nativeQuery();
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query query;
 
                 if (isNative) {
@@ -530,6 +736,9 @@ public class ApplicationContext {
 
                 setQueryParameters(query, method, args);
                 applyPagination(query, method, args);
+                if (method.getReturnType() == void.class || method.getReturnType() == Void.class) {
+                    return lease.inTransaction(() -> executeQuery(query, method));
+                }
                 return executeQuery(query, method);
             }
         }
@@ -701,7 +910,8 @@ public class ApplicationContext {
         }
 
         private Object handleFindAllMethod(Method method) {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "from " + entityClass.getName();
                 org.hibernate.query.Query query = session.createQuery(hql, entityClass);
                 return query.list();
@@ -709,7 +919,8 @@ public class ApplicationContext {
         }
 
         private Object handleCountMethod(Method method) {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "select count(e) from " + entityClass.getName() + " e";
                 org.hibernate.query.Query<Long> query = session.createQuery(hql, Long.class);
                 Long count = query.uniqueResult();
@@ -718,7 +929,8 @@ public class ApplicationContext {
         }
 
         private Object handleExistsByIdMethod(Method method, Object id) {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 Object entity = session.get(entityClass, (java.io.Serializable) id);
                 return entity != null;
             }
@@ -729,7 +941,8 @@ public class ApplicationContext {
             String queryPart = methodName.substring(6);
             String hql = buildQueryFromMethodName(queryPart, args, "select");
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query query = session.createQuery(hql, entityClass);
                 setParametersFromMethodName(query, queryPart, args);
 
@@ -749,7 +962,8 @@ public class ApplicationContext {
             String queryPart = methodName.substring(9);
             String hql = buildQueryFromMethodName(queryPart, args, "select");
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query query = session.createQuery(hql, entityClass);
                 setParametersFromMethodName(query, queryPart, args);
                 return query.list();
@@ -788,7 +1002,8 @@ public class ApplicationContext {
             }
 
             if (queryPart.isEmpty()) {
-                try (Session session = sessionFactory.openSession()) {
+                try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                    Session session = lease.getSession();
                     String hql = "from " + entityClass.getName();
                     org.hibernate.query.Query query = session.createQuery(hql, entityClass);
                     query.setMaxResults(limit);
@@ -806,7 +1021,8 @@ public class ApplicationContext {
 
             String hql = buildQueryFromMethodName(queryPart, args, "select");
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query query = session.createQuery(hql, entityClass);
                 setParametersFromMethodName(query, queryPart, args);
                 query.setMaxResults(limit);
@@ -823,7 +1039,8 @@ public class ApplicationContext {
         }
 
         private Object handleOrderByMethod(Method method, Object[] args, int limit, String queryPart) {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql;
 
                 if (queryPart.equals("ByOrderByNameAsc") || queryPart.startsWith("ByOrderByNameAsc")) {
@@ -872,7 +1089,8 @@ public class ApplicationContext {
             String queryPart = methodName.substring(7);
             String hql = buildQueryFromMethodName(queryPart, args, "count");
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query<Long> query = session.createQuery(hql, Long.class);
                 setParametersFromMethodName(query, queryPart, args);
                 Long count = query.uniqueResult();
@@ -885,7 +1103,8 @@ public class ApplicationContext {
             String queryPart = methodName.substring(8);
             String hql = buildQueryFromMethodName(queryPart, args, "count");
 
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query<Long> query = session.createQuery(hql, Long.class);
                 setParametersFromMethodName(query, queryPart, args);
                 Long count = query.uniqueResult();
@@ -905,12 +1124,11 @@ public class ApplicationContext {
 
             String hql = buildQueryFromMethodName(queryPart, args, "delete");
 
-            try (Session session = sessionFactory.openSession()) {
-                session.beginTransaction();
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 org.hibernate.query.Query query = session.createQuery(hql);
                 setParametersFromMethodName(query, queryPart, args);
-                int deletedCount = query.executeUpdate();
-                session.getTransaction().commit();
+                int deletedCount = lease.inTransaction(query::executeUpdate);
 
                 if (method.getReturnType().equals(void.class) || method.getReturnType().equals(Void.class)) {
                     return null;
@@ -1018,41 +1236,82 @@ public class ApplicationContext {
     }
 
 
-    private void scanAndCreateBeans() throws Exception {
-        Reflections reflections = new Reflections(basePackage);
+    private void scanAndCreateBeans(StartupScheduler scheduler) throws Exception {
         Set<Class<?>> componentClasses = new LinkedHashSet<>();
-        componentClasses.addAll(reflections.getTypesAnnotatedWith(Component.class));
-        componentClasses.addAll(reflections.getTypesAnnotatedWith(Service.class));
-        componentClasses.addAll(reflections.getTypesAnnotatedWith(Controller.class));
-        componentClasses.addAll(reflections.getTypesAnnotatedWith(RestController.class));
+        componentClasses.addAll(componentIndex.getTypes(ComponentIndex.COMPONENT));
+        componentClasses.addAll(componentIndex.getTypes(ComponentIndex.SERVICE));
+        componentClasses.addAll(componentIndex.getTypes(ComponentIndex.CONTROLLER));
+        componentClasses.addAll(componentIndex.getTypes(ComponentIndex.REST_CONTROLLER));
+        componentClasses.addAll(componentIndex.getTypes(ComponentIndex.WEBSOCKET));
 
-        Set<Class<?>> repositoryClasses = reflections.getTypesAnnotatedWith(Repository.class);
+        Set<Class<?>> repositoryClasses = componentIndex.getTypes(ComponentIndex.REPOSITORY);
         for (Class<?> repoClass : repositoryClasses) {
             if (!repoClass.isInterface()) {
                 componentClasses.add(repoClass);
             }
         }
 
-        Set<Class<?>> remaining = new LinkedHashSet<>(componentClasses);
-        while (!remaining.isEmpty()) {
-            int before = remaining.size();
-            Iterator<Class<?>> iterator = remaining.iterator();
-            while (iterator.hasNext()) {
-                Class<?> clazz = iterator.next();
-                Object instance = createBeanWithDependencies(clazz);
-                if (instance != null) {
-                    beans.put(clazz, instance);
-                    String beanName = getBeanName(clazz);
-                    namedBeans.put(beanName, instance);
-                    iterator.remove();
-                }
+        BeanGraph graph = new BeanGraph(componentClasses, beans.keySet(), this::getBeanName);
+        for (List<BeanGraph.Node> wave : graph.waves()) {
+            List<Callable<Object>> tasks = new ArrayList<>(wave.size());
+            for (BeanGraph.Node node : wave) {
+                tasks.add(() -> timeline.component(StartupTimeline.BEAN, getBeanName(node.getType()), node.getType(),
+                        () -> createBean(node)));
+            }
+
+            List<Object> instances = scheduler.invokeAll(tasks);
+            for (int i = 0; i < wave.size(); i++) {
+                Class<?> clazz = wave.get(i).getType();
+                Object instance = instances.get(i);
+                beans.put(clazz, instance);
+                String beanName = getBeanName(clazz);
+                namedBeans.put(beanName, instance);
             }
-            if (remaining.size() == before) {
-                throw new RuntimeException("Circular dependencies or missing dependencies detected among: " + remaining);
+        }
+    }
+
+    private Object createBean(BeanGraph.Node node) throws Exception {
+        if (isLazy(node.getType())) {
+            LazyBeanFactory.LazyBean lazyBean = lazyBeanFactory.create(node.getType(), () -> initializeLazyBean(node));
+            if (lazyBean != null) {
+                lazyBeans.put(node.getType(), lazyBean);
+                return lazyBean.getProxy();
             }
+            logger.warn("c.k.f.context.ApplicationContext", "Cannot create lazy proxy for final class "
+                    + node.getType().getSimpleName() + "; creating it eagerly");
+        }
+        return instantiateBean(node);
+    }
+
+    private Object instantiateBean(BeanGraph.Node node) throws Exception {
+        try {
+            return node.instantiate(beans);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("Failed to create bean " + node.getType().getName() + ": " + e.getCause().getMessage(), e.getCause());
         }
     }
 
+    private boolean isLazy(Class<?> type) {
+        Lazy lazy = type.getAnnotation(Lazy.class);
+        if (lazy != null) {
+            return lazy.value();
+        }
+        return lazyInit
+                && !type.isAnnotationPresent(Controller.class)
+                && !type.isAnnotationPresent(RestController.class)
+                && !type.isAnnotationPresent(WebSocketEndpoint.class);
+    }
+
+    private Object initializeLazyBean(BeanGraph.Node node) throws Exception {
+        Object instance = instantiateBean(node);
+        injectProperties(instance);
+        injectDependencies(instance);
+        if (!shouldSkipProxying(node.getType())) {
+            instance = getTransactionProxyFactory().createProxy(instance);
+        }
+        return instance;
+    }
+
     private String getBeanName(Class<?> clazz) {
         Annotation[] annotations = clazz.getAnnotations();
         for (Annotation a : annotations) {
@@ -1066,71 +1325,43 @@ public class ApplicationContext {
         return Character.toLowerCase(className.charAt(0)) + className.substring(1);
     }
 
-    private Object createBeanWithDependencies(Class<?> clazz) throws Exception {
-        Constructor<?>[] constructors = clazz.getDeclaredConstructors();
-        for (Constructor<?> ctor : constructors) {
-            if (ctor.isAnnotationPresent(Autowired.class)) {
-                Object instance = tryCreateWithConstructor(ctor);
-                if (instance != null) return instance;
-            }
-        }
-        for (Constructor<?> ctor : constructors) {
-            Object instance = tryCreateWithConstructor(ctor);
-            if (instance != null) return instance;
-        }
-        try {
-            Constructor<?> defaultCtor = clazz.getDeclaredConstructor();
-            defaultCtor.setAccessible(true);
-            return defaultCtor.newInstance();
-        } catch (NoSuchMethodException e) {
-            return null;
-        }
-    }
-
-    private Object tryCreateWithConstructor(Constructor<?> ctor) throws Exception {
-        Class<?>[] paramTypes = ctor.getParameterTypes();
-        Object[] params = new Object[paramTypes.length];
-        for (int i = 0; i < paramTypes.length; i++) {
-            Object paramObj = beans.get(paramTypes[i]);
-            if (paramObj == null) {
-                return null;
+    private void injectProperties() {
+        for (Map.Entry<Class<?>, Object> entry : beans.entrySet()) {
+            if (!lazyBeans.containsKey(entry.getKey())) {
+                injectProperties(entry.getValue());
             }
-            params[i] = paramObj;
         }
-        ctor.setAccessible(true);
-        return ctor.newInstance(params);
     }
 
-    private void injectProperties() {
+    private void injectProperties(Object instance) {
+        Object bean = Advised.unwrap(instance);
         ConfigurationManager config = ConfigurationManager.getInstance();
-        for (Object bean : beans.values()) {
-            Class<?> clazz = bean.getClass();
-            for (Field field : clazz.getDeclaredFields()) {
-                try {
-                    if (field.isAnnotationPresent(Value.class)) {
-                        String expression = field.getAnnotation(Value.class).value();
-                        String value = config.resolveValue(expression);
-                        if (value != null) {
-                            field.setAccessible(true);
-                            field.set(bean, convertValue(field.getType(), value));
-                        }
+        Class<?> clazz = bean.getClass();
+        for (Field field : clazz.getDeclaredFields()) {
+            try {
+                if (field.isAnnotationPresent(Value.class)) {
+                    String expression = field.getAnnotation(Value.class).value();
+                    String value = config.resolveValue(expression);
+                    if (value != null) {
+                        field.setAccessible(true);
+                        field.set(bean, convertValue(field.getType(), value));
                     }
-                } catch (Exception ex) {
-                    System.err.println("Failed to inject @Value into " + clazz.getSimpleName() + "." + field.getName() + ": " + ex.getMessage());
                 }
+            } catch (Exception ex) {
+                System.err.println("Failed to inject @Value into " + clazz.getSimpleName() + "." + field.getName() + ": " + ex.getMessage());
             }
-            if (clazz.isAnnotationPresent(ConfigurationProperties.class)) {
-                String prefix = clazz.getAnnotation(ConfigurationProperties.class).prefix();
-                Map<String, String> props = config.getPropertiesWithPrefix(prefix);
-                for (Map.Entry<String, String> entry : props.entrySet()) {
-                    try {
-                        Field f = clazz.getDeclaredField(entry.getKey());
-                        f.setAccessible(true);
-                        f.set(bean, convertValue(f.getType(), entry.getValue()));
-                    } catch (NoSuchFieldException ignored) {
-                    } catch (Exception e) {
-                        System.err.println("Failed to inject @ConfigurationProperties: " + e.getMessage());
-                    }
+        }
+        if (clazz.isAnnotationPresent(ConfigurationProperties.class)) {
+            String prefix = clazz.getAnnotation(ConfigurationProperties.class).prefix();
+            Map<String, String> props = config.getPropertiesWithPrefix(prefix);
+            for (Map.Entry<String, String> entry : props.entrySet()) {
+                try {
+                    Field f = clazz.getDeclaredField(entry.getKey());
+                    f.setAccessible(true);
+                    f.set(bean, convertValue(f.getType(), entry.getValue()));
+                } catch (NoSuchFieldException ignored) {
+                } catch (Exception e) {
+                    System.err.println("Failed to inject @ConfigurationProperties: " + e.getMessage());
                 }
             }
         }
@@ -1149,12 +1380,21 @@ public class ApplicationContext {
     }
 
     private void injectDependencies() throws Exception {
-        for (Object bean : beans.values()) {
-            Class<?> clazz = bean.getClass();
+        for (Map.Entry<Class<?>, Object> entry : beans.entrySet()) {
+            if (!lazyBeans.containsKey(entry.getKey())) {
+                injectDependencies(entry.getValue());
+            }
+        }
+    }
+
+    private void injectDependencies(Object instance) throws Exception {
+        Object bean = Advised.unwrap(instance);
+        for (Class<?> clazz = bean.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
             for (Field field : clazz.getDeclaredFields()) {
                 if (field.isAnnotationPresent(Autowired.class)) {
                     field.setAccessible(true);
-                    Object dependency = beans.get(field.getType());
+                    Object dependency = resolveDependency(field.getType(), field.getGenericType(),
+                            field.getAnnotation(Qualifier.class));
                     if (dependency == null) {
                         throw new RuntimeException("Unsatisfied dependency for " + field.getType() + " in " + clazz);
                     }
@@ -1164,19 +1404,116 @@ public class ApplicationContext {
         }
     }
 
+    private Object resolveDependency(Class<?> type, Type genericType, Qualifier qualifier) {
+        BeanIndex index = beanIndex;
+        if (type == List.class || type == Collection.class) {
+            Class<?> elementType = BeanGraph.elementType(genericType);
+            if (elementType == null) {
+                return null;
+            }
+            List<Object> all = new ArrayList<>();
+            for (BeanIndex.Candidate candidate : index.findAll(elementType)) {
+                all.add(candidate.getInstance());
+            }
+            return Collections.unmodifiableList(all);
+        }
+        BeanIndex.Candidate candidate = index.find(type, qualifier != null ? qualifier.value() : null);
+        return candidate != null ? candidate.getInstance() : null;
+    }
+
+    private void registerConfigListeners(ConfigurationManager config) {
+        for (Object bean : beans.values()) {
+            if (bean instanceof ConfigChangeListener) {
+                ConfigChangeListener listener = (ConfigChangeListener) bean;
+                config.addChangeListener(listener);
+                configListeners.add(listener);
+            }
+        }
+    }
+
     private void scanControllers() {
-        Reflections reflections = new Reflections(basePackage);
         routes.clear();
-        Set<Class<?>> restControllers = reflections.getTypesAnnotatedWith(RestController.class);
+        if (componentIndex.isIndexed()) {
+            for (ComponentIndex.RouteEntry route : componentIndex.getRoutes()) {
+                addIndexedRoute(route);
+            }
+            return;
+        }
+        Set<Class<?>> restControllers = componentIndex.getTypes(ComponentIndex.REST_CONTROLLER);
         for (Class<?> c : restControllers) {
             addRoutesForController(c);
         }
-        Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(Controller.class);
+        Set<Class<?>> controllers = componentIndex.getTypes(ComponentIndex.CONTROLLER);
         for (Class<?> c : controllers) {
             addRoutesForController(c);
         }
     }
 
+    private void addIndexedRoute(ComponentIndex.RouteEntry route) {
+        Object controllerInstance = beans.get(route.getControllerClass());
+        if (controllerInstance == null) return;
+
+        Method method;
+        try {
+            ClassLoader classLoader = route.getControllerClass().getClassLoader();
+            String[] typeNames = route.getParameterTypes();
+            Class<?>[] parameterTypes = new Class<?>[typeNames.length];
+            for (int i = 0; i < typeNames.length; i++) {
+                parameterTypes[i] = resolveIndexedType(typeNames[i], classLoader);
+            }
+            method = route.getControllerClass().getDeclaredMethod(route.getMethodName(), parameterTypes);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new RuntimeException("Component index is out of date for " + route.getControllerClass().getName()
+                    + "." + route.getMethodName() + "; rebuild the application", e);
+        }
+
+        String fullPath = route.getPath();
+        String httpMethod = route.getHttpMethod();
+        if (routes.containsKey(fullPath) && routes.get(fullPath).containsKey(httpMethod)) {
+            ControllerMethod existingMethod = routes.get(fullPath).get(httpMethod);
+            throw new RuntimeException(String.format(
+                    "DUPLICATE ROUTE: %s %s is mapped to both %s.%s() and %s.%s()",
+                    httpMethod, fullPath,
+                    existingMethod.getController().getClass().getSimpleName(),
+                    existingMethod.getMethod().getName(),
+                    controllerInstance.getClass().getSimpleName(),
+                    method.getName()
+            ));
+        }
+        routes.computeIfAbsent(fullPath, k -> new HashMap<>()).put(httpMethod, new ControllerMethod(controllerInstance, method));
+    }
+
+    private Class<?> resolveIndexedType(String typeName, ClassLoader classLoader) throws ClassNotFoundException {
+        if (typeName.endsWith("[]")) {
+            Class<?> componentType = resolveIndexedType(typeName.substring(0, typeName.length() - 2), classLoader);
+            return java.lang.reflect.Array.newInstance(componentType, 0).getClass();
+        }
+        switch (typeName) {
+            case "boolean": return boolean.class;
+            case "byte": return byte.class;
+            case "char": return char.class;
+            case "short": return short.class;
+            case "int": return int.class;
+            case "long": return long.class;
+            case "float": return float.class;
+            case "double": return double.class;
+            default: return Class.forName(typeName, false, classLoader);
+        }
+    }
+
+    private void scanWebSocketEndpoints() {
+        webSocketBroadcaster.clear();
+        for (Map.Entry<Class<?>, Object> entry : beans.entrySet()) {
+            if (!entry.getKey().isAnnotationPresent(WebSocketEndpoint.class)) {
+                continue;
+            }
+            if (!(entry.getValue() instanceof WebSocketHandler)) {
+                throw new RuntimeException("@WebSocketEndpoint " + entry.getKey().getSimpleName() + " must implement WebSocketHandler");
+            }
+            webSocketBroadcaster.register((WebSocketHandler) entry.getValue());
+        }
+    }
+
     private void mapRoute(Object controller, Method method, Class<? extends Annotation> annClass, String httpMethod) {
         if (!method.isAnnotationPresent(annClass)) return;
         try {
@@ -1188,15 +1525,41 @@ public class ApplicationContext {
     }
 
     public <T> T getBean(Class<T> clazz) {
-        Object bean = beans.get(clazz);
-        if (bean == null) {
+        BeanIndex.Candidate candidate = beanIndex.find(clazz);
+        if (candidate == null) {
             throw new RuntimeException("No bean found for " + clazz.getName());
         }
-        return clazz.cast(bean);
+        return clazz.cast(materialize(candidate));
+    }
+
+    public <T> T getBean(Class<T> clazz, String qualifier) {
+        BeanIndex.Candidate candidate = beanIndex.find(clazz, qualifier);
+        if (candidate == null) {
+            throw new RuntimeException("No bean named '" + qualifier + "' found for " + clazz.getName());
+        }
+        return clazz.cast(materialize(candidate));
+    }
+
+    public <T> List<T> getBeans(Class<T> clazz) {
+        List<BeanIndex.Candidate> candidates = beanIndex.findAll(clazz);
+        List<T> result = new ArrayList<>(candidates.size());
+        for (BeanIndex.Candidate candidate : candidates) {
+            result.add(clazz.cast(materialize(candidate)));
+        }
+        return result;
     }
 
     public Object getBean(String name) {
-        return namedBeans.get(name);
+        BeanIndex.Candidate candidate = beanIndex.findByName(name);
+        return candidate != null ? materialize(candidate) : namedBeans.get(name);
+    }
+
+    private Object materialize(BeanIndex.Candidate candidate) {
+        LazyBeanFactory.LazyBean lazyBean = lazyBeans.get(candidate.getType());
+        if (lazyBean != null && lazyBean.getProxy() == candidate.getInstance()) {
+            return lazyBean.getInstance();
+        }
+        return candidate.getInstance();
     }
 
     public void reload(String packageName) {
@@ -1204,6 +1567,7 @@ public class ApplicationContext {
         beans.clear();
         namedBeans.clear();
         routes.clear();
+        beanIndex = BeanIndex.EMPTY;
         this.basePackage = packageName;
         try {
             start();
@@ -1221,16 +1585,37 @@ public class ApplicationContext {
         return routes;
     }
 
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public WebSocketBroadcaster getWebSocketBroadcaster() {
+        return webSocketBroadcaster;
+    }
+
     public static class ControllerMethod {
         private final Object controller;
         private final Method method;
+        private final boolean streamsRequestBody;
 
         public ControllerMethod(Object controller, Method method) {
             this.controller = controller;
             this.method = method;
+            boolean streams = false;
+            for (Class<?> type : method.getParameterTypes()) {
+                if (type == InputStream.class || type == ReadableByteChannel.class) {
+                    streams = true;
+                }
+            }
+            this.streamsRequestBody = streams;
         }
 
         public Object getController() { return controller; }
         public Method getMethod() { return method; }
+        public boolean streamsRequestBody() { return streamsRequestBody; }
     }
 }
@@ -0,0 +1,288 @@
+package io.korus.context;
+
+import io.korus.core.annotations.Autowired;
+import io.korus.core.annotations.Primary;
+import io.korus.core.annotations.Qualifier;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.Function;
+
+public class BeanGraph {
+
+    private final Map<Class<?>, Node> nodes = new LinkedHashMap<>();
+    private final Map<Class<?>, List<Class<?>>> assignable = new HashMap<>();
+    private final Function<Class<?>, String> beanNames;
+
+    public BeanGraph(Collection<Class<?>> componentClasses, Set<Class<?>> existingBeans, Function<Class<?>, String> beanNames) {
+        this.beanNames = beanNames;
+        Set<Class<?>> known = new LinkedHashSet<>(existingBeans);
+        for (Class<?> type : componentClasses) {
+            if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+                known.add(type);
+            }
+        }
+        for (Class<?> type : known) {
+            for (Class<?> supertype : BeanIndex.typeHierarchy(type)) {
+                assignable.computeIfAbsent(supertype, k -> new ArrayList<>()).add(type);
+            }
+        }
+
+        for (Class<?> type : known) {
+            if (!existingBeans.contains(type)) {
+                nodes.put(type, createNode(type, known));
+            }
+        }
+    }
+
+    private Node createNode(Class<?> type, Set<Class<?>> known) {
+        Constructor<?> constructor = selectConstructor(type, known);
+        Parameter[] parameters = constructor.getParameters();
+        Class<?>[] providers = new Class<?>[parameters.length];
+        List<List<Class<?>>> collectionProviders = new ArrayList<>(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> elementType = collectionElementType(parameters[i].getType(), parameters[i].getParameterizedType());
+            if (elementType != null) {
+                collectionProviders.add(candidatesExcept(elementType, type));
+                continue;
+            }
+            collectionProviders.add(null);
+            providers[i] = resolveProvider(parameters[i].getType(), parameters[i].getAnnotation(Qualifier.class));
+            if (providers[i] == null) {
+                throw new RuntimeException("Unsatisfied dependency: " + type.getName() + " requires a bean of type "
+                        + parameters[i].getType().getName() + " (constructor parameter " + i + ")");
+            }
+        }
+
+        return new Node(type, constructor, providers, collectionProviders);
+    }
+
+    static Class<?> elementType(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            }
+            if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> collectionElementType(Class<?> type, Type genericType) {
+        return type == List.class || type == Collection.class ? elementType(genericType) : null;
+    }
+
+    private List<Class<?>> candidates(Class<?> type) {
+        return assignable.getOrDefault(type, Collections.emptyList());
+    }
+
+    private List<Class<?>> candidatesExcept(Class<?> elementType, Class<?> self) {
+        List<Class<?>> result = new ArrayList<>(candidates(elementType));
+        result.remove(self);
+        return result;
+    }
+
+    private Constructor<?> selectConstructor(Class<?> type, Set<Class<?>> known) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        for (Constructor<?> ctor : constructors) {
+            if (ctor.isAnnotationPresent(Autowired.class)) {
+                return ctor;
+            }
+        }
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+
+        Constructor<?>[] byArity = constructors.clone();
+        Arrays.sort(byArity, (a, b) -> Integer.compare(b.getParameterCount(), a.getParameterCount()));
+        for (Constructor<?> ctor : byArity) {
+            boolean satisfiable = true;
+            for (Parameter parameter : ctor.getParameters()) {
+                if (collectionElementType(parameter.getType(), parameter.getParameterizedType()) == null
+                        && resolveProvider(parameter.getType(), parameter.getAnnotation(Qualifier.class)) == null) {
+                    satisfiable = false;
+                    break;
+                }
+            }
+            if (satisfiable) {
+                return ctor;
+            }
+        }
+        throw new RuntimeException("No satisfiable constructor found for " + type.getName());
+    }
+
+    private Class<?> resolveProvider(Class<?> dependencyType, Qualifier qualifier) {
+        List<Class<?>> matches = candidates(dependencyType);
+        if (qualifier != null) {
+            for (Class<?> candidate : matches) {
+                if (qualifier.value().equals(beanNames.apply(candidate))) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+        if (matches.size() <= 1) {
+            return matches.isEmpty() ? null : matches.get(0);
+        }
+
+        Class<?> primary = null;
+        for (Class<?> candidate : matches) {
+            if (candidate.isAnnotationPresent(Primary.class)) {
+                if (primary != null) {
+                    throw new RuntimeException("Ambiguous dependency of type " + dependencyType.getName()
+                            + ": both " + primary.getName() + " and " + candidate.getName() + " are @Primary");
+                }
+                primary = candidate;
+            }
+        }
+        if (primary != null) {
+            return primary;
+        }
+        if (matches.contains(dependencyType)) {
+            return dependencyType;
+        }
+        throw new RuntimeException("Ambiguous dependency of type " + dependencyType.getName()
+                + ": both " + matches.get(0).getName() + " and " + matches.get(1).getName() + " match");
+    }
+
+    public List<List<Node>> waves() {
+        Map<Class<?>, Integer> inDegree = new HashMap<>();
+        Map<Class<?>, List<Node>> dependents = new HashMap<>();
+
+        for (Node node : nodes.values()) {
+            int degree = 0;
+            for (Class<?> provider : node.dependencies()) {
+                if (nodes.containsKey(provider)) {
+                    degree++;
+                    dependents.computeIfAbsent(provider, k -> new ArrayList<>()).add(node);
+                }
+            }
+            inDegree.put(node.type, degree);
+        }
+
+        List<List<Node>> waves = new ArrayList<>();
+        List<Node> current = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (inDegree.get(node.type) == 0) {
+                current.add(node);
+            }
+        }
+
+        int scheduled = 0;
+        while (!current.isEmpty()) {
+            waves.add(current);
+            scheduled += current.size();
+            List<Node> next = new ArrayList<>();
+            for (Node node : current) {
+                for (Node dependent : dependents.getOrDefault(node.type, Collections.emptyList())) {
+                    if (inDegree.merge(dependent.type, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            current = next;
+        }
+
+        if (scheduled < nodes.size()) {
+            throw new RuntimeException("Circular dependency detected: " + describeCycle(inDegree));
+        }
+        return waves;
+    }
+
+    private String describeCycle(Map<Class<?>, Integer> inDegree) {
+        Set<Class<?>> unresolved = new LinkedHashSet<>();
+        inDegree.forEach((type, degree) -> {
+            if (degree > 0) unresolved.add(type);
+        });
+
+        for (Class<?> start : unresolved) {
+            Deque<Class<?>> path = new ArrayDeque<>();
+            List<Class<?>> cycle = findCycle(start, unresolved, path, new HashSet<>());
+            if (cycle != null) {
+                StringJoiner joiner = new StringJoiner(" -> ");
+                cycle.forEach(type -> joiner.add(type.getSimpleName()));
+                return joiner.toString();
+            }
+        }
+        return unresolved.toString();
+    }
+
+    private List<Class<?>> findCycle(Class<?> type, Set<Class<?>> unresolved, Deque<Class<?>> path, Set<Class<?>> visited) {
+        if (path.contains(type)) {
+            List<Class<?>> cycle = new ArrayList<>();
+            boolean inCycle = false;
+            for (Iterator<Class<?>> it = path.descendingIterator(); it.hasNext(); ) {
+                Class<?> step = it.next();
+                if (step == type) inCycle = true;
+                if (inCycle) cycle.add(step);
+            }
+            cycle.add(type);
+            return cycle;
+        }
+        if (!visited.add(type)) {
+            return null;
+        }
+        path.push(type);
+        for (Class<?> provider : nodes.get(type).dependencies()) {
+            if (unresolved.contains(provider)) {
+                List<Class<?>> cycle = findCycle(provider, unresolved, path, visited);
+                if (cycle != null) return cycle;
+            }
+        }
+        path.pop();
+        return null;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public static class Node {
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private final Class<?>[] providers;
+        private final List<List<Class<?>>> collectionProviders;
+
+        Node(Class<?> type, Constructor<?> constructor, Class<?>[] providers, List<List<Class<?>>> collectionProviders) {
+            this.type = type;
+            this.constructor = constructor;
+            this.providers = providers;
+            this.collectionProviders = collectionProviders;
+        }
+
+        private Set<Class<?>> dependencies() {
+            Set<Class<?>> dependencies = new LinkedHashSet<>();
+            for (int i = 0; i < providers.length; i++) {
+                if (providers[i] != null) {
+                    dependencies.add(providers[i]);
+                } else {
+                    dependencies.addAll(collectionProviders.get(i));
+                }
+            }
+            return dependencies;
+        }
+
+        public Class<?> getType() { return type; }
+        public Constructor<?> getConstructor() { return constructor; }
+        public Class<?>[] getProviders() { return providers; }
+
+        public Object instantiate(Map<Class<?>, Object> beans) throws Exception {
+            Object[] args = new Object[providers.length];
+            for (int i = 0; i < providers.length; i++) {
+                if (providers[i] != null) {
+                    args[i] = beans.get(providers[i]);
+                } else {
+                    List<Object> all = new ArrayList<>();
+                    for (Class<?> provider : collectionProviders.get(i)) {
+                        all.add(beans.get(provider));
+                    }
+                    args[i] = Collections.unmodifiableList(all);
+                }
+            }
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.korus.context;
+
+import io.korus.core.annotations.Primary;
+
+import java.util.*;
+import java.util.function.Function;
+
+public final class BeanIndex {
+
+    public static final BeanIndex EMPTY = new BeanIndex(Map.of(), Map.of(), Map.of());
+
+    private final Map<Class<?>, List<Candidate>> candidates;
+    private final Map<Class<?>, Object> resolved;
+    private final Map<String, Candidate> byName;
+
+    private BeanIndex(Map<Class<?>, List<Candidate>> candidates, Map<Class<?>, Object> resolved, Map<String, Candidate> byName) {
+        this.candidates = candidates;
+        this.resolved = resolved;
+        this.byName = byName;
+    }
+
+    public static BeanIndex build(Map<Class<?>, Object> beans, Function<Class<?>, String> beanNames) {
+        Map<Class<?>, List<Candidate>> candidates = new HashMap<>();
+        Map<String, Candidate> byName = new HashMap<>();
+
+        for (Map.Entry<Class<?>, Object> entry : beans.entrySet()) {
+            Candidate candidate = new Candidate(entry.getKey(), beanNames.apply(entry.getKey()), entry.getValue());
+            byName.putIfAbsent(candidate.name, candidate);
+            for (Class<?> type : typeHierarchy(entry.getKey())) {
+                candidates.computeIfAbsent(type, k -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        Map<Class<?>, List<Candidate>> frozen = new HashMap<>();
+        Map<Class<?>, Object> resolved = new HashMap<>();
+        for (Map.Entry<Class<?>, List<Candidate>> entry : candidates.entrySet()) {
+            List<Candidate> list = List.copyOf(entry.getValue());
+            frozen.put(entry.getKey(), list);
+            resolved.put(entry.getKey(), select(entry.getKey(), list));
+        }
+
+        return new BeanIndex(Map.copyOf(frozen), Map.copyOf(resolved), Map.copyOf(byName));
+    }
+
+    static Set<Class<?>> typeHierarchy(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current == Object.class || !types.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return types;
+    }
+
+    private static Object select(Class<?> type, List<Candidate> list) {
+        if (list.size() == 1) {
+            return list.get(0);
+        }
+
+        Candidate primary = null;
+        for (Candidate candidate : list) {
+            if (candidate.type.isAnnotationPresent(Primary.class)) {
+                if (primary != null) {
+                    return new Ambiguity("more than one @Primary bean of type " + type.getName() + ": "
+                            + primary.name + ", " + candidate.name);
+                }
+                primary = candidate;
+            }
+        }
+        if (primary != null) {
+            return primary;
+        }
+
+        for (Candidate candidate : list) {
+            if (candidate.type == type) {
+                return candidate;
+            }
+        }
+
+        StringJoiner names = new StringJoiner(", ");
+        list.forEach(candidate -> names.add(candidate.name));
+        return new Ambiguity("expected a single bean of type " + type.getName() + " but found " + list.size()
+                + ": " + names + " (mark one @Primary or use @Qualifier)");
+    }
+
+    public Candidate find(Class<?> type) {
+        Object match = resolved.get(type);
+        if (match instanceof Ambiguity) {
+            throw new RuntimeException("Ambiguous dependency: " + ((Ambiguity) match).message);
+        }
+        return (Candidate) match;
+    }
+
+    public Candidate find(Class<?> type, String qualifier) {
+        if (qualifier == null || qualifier.isEmpty()) {
+            return find(type);
+        }
+        Candidate candidate = byName.get(qualifier);
+        if (candidate == null || !type.isInstance(candidate.instance)) {
+            return null;
+        }
+        return candidate;
+    }
+
+    public Candidate findByName(String name) {
+        return byName.get(name);
+    }
+
+    public List<Candidate> findAll(Class<?> type) {
+        return candidates.getOrDefault(type, List.of());
+    }
+
+    public static final class Candidate {
+        private final Class<?> type;
+        private final String name;
+        private final Object instance;
+
+        Candidate(Class<?> type, String name, Object instance) {
+            this.type = type;
+            this.name = name;
+            this.instance = instance;
+        }
+
+        public Class<?> getType() { return type; }
+        public String getName() { return name; }
+        public Object getInstance() { return instance; }
+    }
+
+    private static final class Ambiguity {
+        private final String message;
+
+        Ambiguity(String message) {
+            this.message = message;
+        }
+    }
+}
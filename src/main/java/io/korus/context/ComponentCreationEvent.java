@@ -0,0 +1,25 @@
+package io.korus.context;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.korus.ComponentCreation")
+@Label("Component Creation")
+@Category({"Korus", "Startup"})
+@Description("Creation of a single bean or repository during startup")
+@StackTrace(false)
+public class ComponentCreationEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Name")
+    public String name;
+
+    @Label("Type")
+    public Class<?> type;
+}
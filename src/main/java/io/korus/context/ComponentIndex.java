@@ -0,0 +1,143 @@
+package io.korus.context;
+
+import io.korus.core.annotations.Component;
+import io.korus.core.annotations.Service;
+import io.korus.data.annotation.Repository;
+import io.korus.web.annotaion.Controller;
+import io.korus.web.annotaion.RestController;
+import io.korus.web.annotaion.WebSocketEndpoint;
+import org.reflections.Reflections;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class ComponentIndex {
+
+    public static final String LOCATION = "META-INF/korus/components.idx";
+
+    public static final String ENTITY = "entity";
+    public static final String COMPONENT = "component";
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+    public static final String CONTROLLER = "controller";
+    public static final String REST_CONTROLLER = "rest-controller";
+    public static final String WEBSOCKET = "websocket";
+    public static final String ROUTE = "route";
+
+    private final Map<String, Set<Class<?>>> types = new HashMap<>();
+    private final List<RouteEntry> routes = new ArrayList<>();
+    private final boolean indexed;
+
+    private ComponentIndex(boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    public static ComponentIndex load(String basePackage) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ComponentIndex.class.getClassLoader();
+        }
+
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            ComponentIndex index = new ComponentIndex(true);
+            while (resources.hasMoreElements()) {
+                index.read(resources.nextElement(), basePackage, classLoader);
+            }
+            if (!index.types.isEmpty() || !index.routes.isEmpty()) {
+                return index;
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read component index, falling back to classpath scan: " + e.getMessage());
+        }
+
+        return scan(basePackage);
+    }
+
+    private static ComponentIndex scan(String basePackage) {
+        Reflections reflections = new Reflections(basePackage);
+        ComponentIndex index = new ComponentIndex(false);
+        index.types.put(ENTITY, reflections.getTypesAnnotatedWith(jakarta.persistence.Entity.class));
+        index.types.put(COMPONENT, reflections.getTypesAnnotatedWith(Component.class));
+        index.types.put(SERVICE, reflections.getTypesAnnotatedWith(Service.class));
+        index.types.put(REPOSITORY, reflections.getTypesAnnotatedWith(Repository.class));
+        index.types.put(CONTROLLER, reflections.getTypesAnnotatedWith(Controller.class));
+        index.types.put(REST_CONTROLLER, reflections.getTypesAnnotatedWith(RestController.class));
+        index.types.put(WEBSOCKET, reflections.getTypesAnnotatedWith(WebSocketEndpoint.class));
+        return index;
+    }
+
+    private void read(URL url, String basePackage, ClassLoader classLoader) throws IOException {
+        String prefix = basePackage == null || basePackage.isEmpty() ? "" : basePackage + ".";
+
+        try (InputStream in = url.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t");
+                if (parts.length < 2 || !parts[1].startsWith(prefix)) {
+                    continue;
+                }
+
+                Class<?> type;
+                try {
+                    type = Class.forName(parts[1], false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    System.err.println("Stale component index entry ignored: " + parts[1]);
+                    continue;
+                }
+
+                if (ROUTE.equals(parts[0])) {
+                    if (parts.length >= 5) {
+                        String[] parameterTypes = parts.length > 5 && !parts[5].isEmpty() ? parts[5].split(",") : new String[0];
+                        routes.add(new RouteEntry(type, parts[2], parts[3], parts[4], parameterTypes));
+                    }
+                } else {
+                    types.computeIfAbsent(parts[0], k -> new LinkedHashSet<>()).add(type);
+                }
+            }
+        }
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    public Set<Class<?>> getTypes(String kind) {
+        return types.getOrDefault(kind, Collections.emptySet());
+    }
+
+    public List<RouteEntry> getRoutes() {
+        return routes;
+    }
+
+    public static class RouteEntry {
+        private final Class<?> controllerClass;
+        private final String httpMethod;
+        private final String path;
+        private final String methodName;
+        private final String[] parameterTypes;
+
+        public RouteEntry(Class<?> controllerClass, String httpMethod, String path, String methodName, String[] parameterTypes) {
+            this.controllerClass = controllerClass;
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        public Class<?> getControllerClass() { return controllerClass; }
+        public String getHttpMethod() { return httpMethod; }
+        public String getPath() { return path; }
+        public String getMethodName() { return methodName; }
+        public String[] getParameterTypes() { return parameterTypes; }
+    }
+}
@@ -0,0 +1,82 @@
+package io.korus.context;
+
+import org.hibernate.SessionFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+final class DeferredSessionFactory implements InvocationHandler {
+
+    private final CompletableFuture<SessionFactory> future;
+    private final Callable<SessionFactory> initializer;
+    private final AtomicBoolean started;
+
+    private DeferredSessionFactory(CompletableFuture<SessionFactory> future, Callable<SessionFactory> initializer) {
+        this.future = future;
+        this.initializer = initializer;
+        this.started = new AtomicBoolean(initializer == null);
+    }
+
+    static SessionFactory of(CompletableFuture<SessionFactory> future) {
+        return create(new DeferredSessionFactory(future, null));
+    }
+
+    static SessionFactory onDemand(Callable<SessionFactory> initializer) {
+        return create(new DeferredSessionFactory(new CompletableFuture<>(), initializer));
+    }
+
+    static void whenReady(SessionFactory sessionFactory, Consumer<SessionFactory> action) {
+        if (sessionFactory != null && Proxy.isProxyClass(sessionFactory.getClass())
+                && Proxy.getInvocationHandler(sessionFactory) instanceof DeferredSessionFactory) {
+            ((DeferredSessionFactory) Proxy.getInvocationHandler(sessionFactory)).future.thenAccept(action);
+        }
+    }
+
+    private static SessionFactory create(DeferredSessionFactory handler) {
+        return (SessionFactory) Proxy.newProxyInstance(
+                SessionFactory.class.getClassLoader(),
+                new Class<?>[]{SessionFactory.class},
+                handler
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                case "toString": return "DeferredSessionFactory[" + (future.isDone() ? "ready" : started.get() ? "pending" : "on-demand") + "]";
+                default: break;
+            }
+        }
+
+        if (started.compareAndSet(false, true)) {
+            try {
+                future.complete(initializer.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        SessionFactory target;
+        try {
+            target = future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("SessionFactory is not available: Hibernate failed to initialize", e.getCause());
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
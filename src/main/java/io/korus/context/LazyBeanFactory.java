@@ -0,0 +1,67 @@
+package io.korus.context;
+
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.LazyLoader;
+
+import java.lang.reflect.Modifier;
+import java.util.concurrent.Callable;
+
+public class LazyBeanFactory {
+
+    private final Objenesis objenesis = new ObjenesisStd();
+
+    public LazyBean create(Class<?> type, Callable<Object> initializer) {
+        if (Modifier.isFinal(type.getModifiers())) {
+            return null;
+        }
+
+        LazyBean lazyBean = new LazyBean(type, initializer);
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setCallbackType(LazyLoader.class);
+        Class<?> proxyClass = enhancer.createClass();
+
+        Object proxy = objenesis.getInstantiatorOf(proxyClass).newInstance();
+        ((Factory) proxy).setCallback(0, (LazyLoader) lazyBean::getInstance);
+        lazyBean.proxy = proxy;
+        return lazyBean;
+    }
+
+    public static class LazyBean {
+        private final Class<?> type;
+        private final Callable<Object> initializer;
+        private Object proxy;
+        private volatile Object instance;
+
+        LazyBean(Class<?> type, Callable<Object> initializer) {
+            this.type = type;
+            this.initializer = initializer;
+        }
+
+        public Class<?> getType() { return type; }
+        public Object getProxy() { return proxy; }
+        public boolean isInitialized() { return instance != null; }
+
+        public Object getInstance() {
+            Object current = instance;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (instance == null) {
+                    try {
+                        instance = initializer.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new RuntimeException("Failed to initialize lazy bean " + type.getName(), e);
+                    }
+                }
+                return instance;
+            }
+        }
+    }
+}
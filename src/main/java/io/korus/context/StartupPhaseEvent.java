@@ -0,0 +1,19 @@
+package io.korus.context;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.korus.StartupPhase")
+@Label("Startup Phase")
+@Category({"Korus", "Startup"})
+@Description("A phase of the application context startup")
+@StackTrace(false)
+public class StartupPhaseEvent extends Event {
+
+    @Label("Phase")
+    public String phase;
+}
@@ -0,0 +1,139 @@
+package io.korus.context;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StartupScheduler implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Map<String, Long> phaseTimes = new ConcurrentHashMap<>();
+    private final Map<String, Long> phaseOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final StartupTimeline timeline;
+
+    public StartupScheduler(boolean parallel, int threads, StartupTimeline timeline) {
+        this.timeline = timeline;
+        if (parallel && threads > 0) {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "korus-startup-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    public <T> CompletableFuture<T> submit(String phase, Callable<T> task) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(run(phase, task));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return run(phase, task);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    public <T> T run(String phase, Callable<T> task) throws Exception {
+        phaseOrder.putIfAbsent(phase, (long) sequence.incrementAndGet());
+        long start = System.nanoTime();
+        try {
+            return timeline.phase(phase, task);
+        } finally {
+            phaseTimes.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    public void run(String phase, StartupTask task) throws Exception {
+        run(phase, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws Exception {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (executor == null || tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                results.add(task.call());
+            }
+            return results;
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        for (int i = 1; i < tasks.size(); i++) {
+            Callable<T> task = tasks.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        results.add(tasks.get(0).call());
+        for (CompletableFuture<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    public static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, Long> getPhaseTimesMillis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        phaseOrder.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> result.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(phaseTimes.getOrDefault(entry.getKey(), 0L))));
+        return result;
+    }
+
+    public long getSerialTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(phaseTimes.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StartupTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,152 @@
+package io.korus.context;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+public class StartupTimeline {
+
+    public static final String BEAN = "bean";
+    public static final String REPOSITORY = "repository";
+
+    private final long originNanos = System.nanoTime();
+    private final Instant startedAt = Instant.now();
+    private final Queue<Entry> phases = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> components = new ConcurrentLinkedQueue<>();
+
+    public <T> T phase(String name, Callable<T> task) throws Exception {
+        StartupPhaseEvent event = new StartupPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long end = System.nanoTime();
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = name;
+                event.commit();
+            }
+            phases.add(new Entry("phase", name, null, start - originNanos, end - start));
+        }
+    }
+
+    public <T> T component(String kind, String name, Class<?> type, Callable<T> task) throws Exception {
+        ComponentCreationEvent event = new ComponentCreationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long end = System.nanoTime();
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.name = name;
+                event.type = type;
+                event.commit();
+            }
+            components.add(new Entry(kind, name, type, start - originNanos, end - start));
+        }
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - originNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getElapsedNanos());
+    }
+
+    public long getPhaseNanos(String name) {
+        long total = 0;
+        for (Entry entry : phases) {
+            if (entry.name.equals(name)) {
+                total += entry.durationNanos;
+            }
+        }
+        return total;
+    }
+
+    public List<Entry> getPhases() {
+        List<Entry> result = new ArrayList<>(phases);
+        result.sort(Comparator.comparingLong(Entry::getStartNanos));
+        return result;
+    }
+
+    public List<Entry> getComponents(String kind) {
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : components) {
+            if (entry.kind.equals(kind)) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparingLong(Entry::getDurationNanos).reversed());
+        return result;
+    }
+
+    public void writeReport(Path path, boolean parallel) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("parallel", parallel);
+        report.put("totalNanos", getElapsedNanos());
+        report.put("phases", toJson(getPhases()));
+        report.put("beans", toJson(getComponents(BEAN)));
+        report.put("repositories", toJson(getComponents(REPOSITORY)));
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private List<Map<String, Object>> toJson(List<Entry> entries) {
+        List<Map<String, Object>> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", entry.name);
+            if (entry.type != null) {
+                json.put("type", entry.type.getName());
+            }
+            json.put("thread", entry.thread);
+            json.put("startNanos", entry.startNanos);
+            json.put("durationNanos", entry.durationNanos);
+            result.add(json);
+        }
+        return result;
+    }
+
+    public static class Entry {
+        private final String kind;
+        private final String name;
+        private final Class<?> type;
+        private final String thread;
+        private final long startNanos;
+        private final long durationNanos;
+
+        Entry(String kind, String name, Class<?> type, long startNanos, long durationNanos) {
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+            this.thread = Thread.currentThread().getName();
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getKind() { return kind; }
+        public String getName() { return name; }
+        public Class<?> getType() { return type; }
+        public String getThread() { return thread; }
+        public long getStartNanos() { return startNanos; }
+        public long getDurationNanos() { return durationNanos; }
+    }
+}
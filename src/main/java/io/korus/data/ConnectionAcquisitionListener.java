@@ -0,0 +1,13 @@
+package io.korus.data;
+
+import org.hibernate.SessionEventListener;
+
+public class ConnectionAcquisitionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestSession.recordConnectionAcquisition();
+    }
+}
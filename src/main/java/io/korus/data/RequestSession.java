@@ -0,0 +1,134 @@
+package io.korus.data;
+
+import io.korus.data.routing.DataSourceRouting;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class RequestSession {
+
+    private static final ThreadLocal<RequestSession> current = new ThreadLocal<>();
+    private static final LongAdder requests = new LongAdder();
+    private static final LongAdder acquisitions = new LongAdder();
+    private static final AtomicLong maxAcquisitions = new AtomicLong();
+
+    private final SessionFactory sessionFactory;
+    private Session session;
+    private volatile int connectionAcquisitions;
+    private boolean closed;
+
+    private RequestSession(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    public static RequestSession begin(SessionFactory sessionFactory) {
+        RequestSession requestSession = new RequestSession(sessionFactory);
+        current.set(requestSession);
+        return requestSession;
+    }
+
+    public static RequestSession current() {
+        return current.get();
+    }
+
+    static Session sharedSession(SessionFactory sessionFactory) {
+        RequestSession requestSession = current.get();
+        if (requestSession == null || requestSession.sessionFactory != sessionFactory) {
+            return null;
+        }
+        return requestSession.session();
+    }
+
+    static void recordConnectionAcquisition() {
+        RequestSession requestSession = current.get();
+        if (requestSession != null) {
+            requestSession.connectionAcquisitions++;
+        }
+    }
+
+    static void invalidate(SessionFactory sessionFactory) {
+        RequestSession requestSession = current.get();
+        if (requestSession != null && requestSession.sessionFactory == sessionFactory) {
+            requestSession.discard(null);
+        }
+    }
+
+    static void invalidate(Session session) {
+        RequestSession requestSession = current.get();
+        if (requestSession != null) {
+            requestSession.discard(session);
+        }
+    }
+
+    private synchronized void discard(Session expected) {
+        if (session == null || expected != null && session != expected) {
+            return;
+        }
+        if (session.isOpen()) {
+            session.close();
+        }
+        session = null;
+    }
+
+    private synchronized Session session() {
+        if (closed) {
+            return null;
+        }
+        if (session == null) {
+            Session opened = sessionFactory.withOptions()
+                    .connectionHandlingMode(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_HOLD)
+                    .openSession();
+            boolean previousRoute = DataSourceRouting.routeToReplica(false);
+            try {
+                opened.doWork(connection -> { });
+            } finally {
+                DataSourceRouting.restoreRoute(previousRoute);
+            }
+            session = opened;
+        }
+        return session;
+    }
+
+    public int getConnectionAcquisitions() {
+        return connectionAcquisitions;
+    }
+
+    public void unbind() {
+        if (current.get() == this) {
+            current.remove();
+        }
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (session != null && session.isOpen()) {
+            session.close();
+        }
+        requests.increment();
+        acquisitions.add(connectionAcquisitions);
+        maxAcquisitions.accumulateAndGet(connectionAcquisitions, Math::max);
+    }
+
+    public static long getRequestCount() {
+        return requests.sum();
+    }
+
+    public static long getConnectionAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    public static long getMaxConnectionAcquisitions() {
+        return maxAcquisitions.get();
+    }
+
+    public static double getMeanConnectionAcquisitions() {
+        long count = getRequestCount();
+        return count == 0 ? 0.0 : (double) getConnectionAcquisitionCount() / count;
+    }
+}
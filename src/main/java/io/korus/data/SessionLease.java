@@ -0,0 +1,67 @@
+package io.korus.data;
+
+import io.korus.transaction.TransactionContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+import java.util.function.Supplier;
+
+public final class SessionLease implements AutoCloseable {
+
+    private final Session session;
+    private final boolean owned;
+
+    private SessionLease(Session session, boolean owned) {
+        this.session = session;
+        this.owned = owned;
+    }
+
+    public static SessionLease open(SessionFactory sessionFactory) {
+        TransactionContext.TransactionInfo currentTx = TransactionContext.getCurrentTransaction();
+        if (currentTx != null) {
+            return new SessionLease(currentTx.getSession(), false);
+        }
+        Session shared = RequestSession.sharedSession(sessionFactory);
+        if (shared != null) {
+            return new SessionLease(shared, false);
+        }
+        return new SessionLease(sessionFactory.openSession(), true);
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    boolean isOwned() {
+        return owned;
+    }
+
+    public <R> R inTransaction(Supplier<R> work) {
+        Transaction transaction = session.getTransaction();
+        if (transaction.isActive()) {
+            return work.get();
+        }
+        transaction.begin();
+        try {
+            R result = work.get();
+            transaction.commit();
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            if (!owned) {
+                RequestSession.invalidate(session);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (owned) {
+            session.close();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.korus.data;
 
+import io.korus.config.ConfigurationManager;
 import io.korus.transaction.TransactionContext;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -11,12 +12,53 @@ import java.util.Optional;
 
 public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
 
-    protected final SessionFactory sessionFactory;
+    protected volatile SessionFactory sessionFactory;
     private final Class<T> entityClass;
+    private final int flushInterval;
+    private final boolean detachOnFlush;
 
     public SimpleJpaRepository(SessionFactory sessionFactory, Class<T> entityClass) {
+        this(sessionFactory, entityClass, defaultFlushInterval(),
+                ConfigurationManager.getInstance().getBooleanProperty("korus.data.detach-on-flush", false));
+    }
+
+    SimpleJpaRepository(SessionFactory sessionFactory, Class<T> entityClass, int flushInterval, boolean detachOnFlush) {
         this.sessionFactory = sessionFactory;
         this.entityClass = entityClass;
+        this.flushInterval = flushInterval;
+        this.detachOnFlush = detachOnFlush;
+    }
+
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    private static int defaultFlushInterval() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int batchSize = config.getIntProperty("hibernate.jdbc.batch_size", 50);
+        return config.getIntProperty("korus.data.flush-interval", batchSize > 1 ? batchSize : 50);
+    }
+
+    private <S extends T> List<S> saveChunked(Session session, Iterable<S> entities, boolean exclusive) {
+        List<S> savedEntities = new ArrayList<>();
+        int pending = 0;
+        for (S entity : entities) {
+            session.saveOrUpdate(entity);
+            savedEntities.add(entity);
+            if (flushInterval > 0 && ++pending == flushInterval) {
+                session.flush();
+                if (exclusive) {
+                    session.clear();
+                } else if (detachOnFlush) {
+                    // Bounds memory in a shared session, but returns detached entities: later changes to them are not saved
+                    for (S saved : savedEntities.subList(savedEntities.size() - pending, savedEntities.size())) {
+                        session.detach(saved);
+                    }
+                }
+                pending = 0;
+            }
+        }
+        return savedEntities;
     }
 
 
@@ -30,13 +72,15 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             return entity;
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 session.saveOrUpdate(entity);
                 tx.commit();
                 return entity;
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -48,26 +92,18 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
         TransactionContext.TransactionInfo currentTx = TransactionContext.getCurrentTransaction();
 
         if (currentTx != null) {
-            Session session = currentTx.getSession();
-            List<S> savedEntities = new ArrayList<>();
-            for (S entity : entities) {
-                session.saveOrUpdate(entity);
-                savedEntities.add(entity);
-            }
-            return savedEntities;
+            return saveChunked(currentTx.getSession(), entities, false);
         } else {
-            List<S> savedEntities = new ArrayList<>();
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
-                for (S entity : entities) {
-                    session.saveOrUpdate(entity);
-                    savedEntities.add(entity);
-                }
+                List<S> savedEntities = saveChunked(session, entities, lease.isOwned());
                 tx.commit();
                 return savedEntities;
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -84,7 +120,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             return entity;
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 session.saveOrUpdate(entity);
                 session.flush();
@@ -92,6 +129,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                 return entity;
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -103,27 +141,21 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
 
         if (currentTx != null) {
             Session session = currentTx.getSession();
-            List<S> savedEntities = new ArrayList<>();
-            for (S entity : entities) {
-                session.saveOrUpdate(entity);
-                savedEntities.add(entity);
-            }
+            List<S> savedEntities = saveChunked(session, entities, false);
             session.flush();
             return savedEntities;
         } else {
-            List<S> savedEntities = new ArrayList<>();
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
-                for (S entity : entities) {
-                    session.saveOrUpdate(entity);
-                    savedEntities.add(entity);
-                }
+                List<S> savedEntities = saveChunked(session, entities, lease.isOwned());
                 session.flush();
                 tx.commit();
                 return savedEntities;
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -138,7 +170,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             T entity = session.get(entityClass, (java.io.Serializable) id);
             return Optional.ofNullable(entity);
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 T entity = session.get(entityClass, (java.io.Serializable) id);
                 return Optional.ofNullable(entity);
             }
@@ -157,7 +190,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             }
             return entity;
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 T entity = session.get(entityClass, (java.io.Serializable) id);
                 if (entity == null) {
                     throw new EntityNotFoundException("Entity with id " + id + " not found");
@@ -175,7 +209,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             Session session = currentTx.getSession();
             return session.getReference(entityClass, (java.io.Serializable) id);
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 return session.getReference(entityClass, (java.io.Serializable) id);
             }
         }
@@ -195,7 +230,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             Session session = currentTx.getSession();
             return session.createQuery("from " + entityClass.getName(), entityClass).list();
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 return session.createQuery("from " + entityClass.getName(), entityClass).list();
             }
         }
@@ -216,7 +252,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                     .setParameterList("ids", idList)
                     .list();
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "from " + entityClass.getName() + " e where e.id in :ids";
                 return session.createQuery(hql, entityClass)
                         .setParameterList("ids", idList)
@@ -240,7 +277,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             Long count = session.createQuery(hql, Long.class).uniqueResult();
             return count != null ? count : 0L;
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "select count(e) from " + entityClass.getName() + " e";
                 Long count = session.createQuery(hql, Long.class).uniqueResult();
                 return count != null ? count : 0L;
@@ -260,7 +298,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             }
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 T entity = session.get(entityClass, (java.io.Serializable) id);
                 if (entity != null) {
@@ -269,6 +308,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                 tx.commit();
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -283,12 +323,14 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             session.delete(entity);
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 session.delete(entity);
                 tx.commit();
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -308,7 +350,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             }
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 List<ID> idList = new ArrayList<>();
                 ids.forEach(id -> idList.add((ID) id));
@@ -319,6 +362,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                 tx.commit();
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -335,7 +379,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             }
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 for (T entity : entities) {
                     session.delete(entity);
@@ -343,6 +388,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                 tx.commit();
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -358,13 +404,15 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             session.createQuery(hql).executeUpdate();
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 String hql = "delete from " + entityClass.getName();
                 session.createQuery(hql).executeUpdate();
                 tx.commit();
             } catch (Exception e) {
                 if (tx != null) tx.rollback();
+                RequestSession.invalidate(sessionFactory);
                 throw e;
             }
         }
@@ -394,7 +442,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             session.flush();
         } else {
             Transaction tx = null;
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 tx = session.beginTransaction();
                 session.flush();
                 tx.commit();
@@ -405,6 +454,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                     } catch (Exception rollbackEx) {
                     }
                 }
+                RequestSession.invalidate(sessionFactory);
                 throw new RuntimeException("Failed to flush changes to database", e);
             }
         }
@@ -421,7 +471,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                     .setMaxResults(pageable.getPageSize())
                     .list();
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 return session.createQuery("from " + entityClass.getName(), entityClass)
                         .setFirstResult(pageable.getOffset())
                         .setMaxResults(pageable.getPageSize())
@@ -439,7 +490,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
             String hql = "from " + entityClass.getName() + " e order by e." + sort.getProperty() + " " + sort.getDirection();
             return session.createQuery(hql, entityClass).list();
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "from " + entityClass.getName() + " e order by e." + sort.getProperty() + " " + sort.getDirection();
                 return session.createQuery(hql, entityClass).list();
             }
@@ -458,7 +510,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepository<T, ID> {
                     .setMaxResults(pageable.getPageSize())
                     .list();
         } else {
-            try (Session session = sessionFactory.openSession()) {
+            try (SessionLease lease = SessionLease.open(sessionFactory)) {
+                Session session = lease.getSession();
                 String hql = "from " + entityClass.getName() + " e order by e." + sort.getProperty() + " " + sort.getDirection();
                 return session.createQuery(hql, entityClass)
                         .setFirstResult(pageable.getOffset())
@@ -0,0 +1,45 @@
+package io.korus.data.pool;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.korus.config.ConfigurationManager;
+
+import java.util.Map;
+import java.util.Properties;
+
+public final class ConnectionPools {
+
+    private static final Map<String, String> MYSQL_STATEMENT_CACHE = Map.of(
+            "dataSource.cachePrepStmts", "true",
+            "dataSource.prepStmtCacheSize", "250",
+            "dataSource.prepStmtCacheSqlLimit", "2048",
+            "dataSource.useServerPrepStmts", "true");
+
+    private ConnectionPools() {
+    }
+
+    public static HikariDataSource create(String poolName, String url, String username, String password) {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        Properties properties = new Properties();
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            properties.putAll(MYSQL_STATEMENT_CACHE);
+        }
+        properties.putAll(config.getPropertiesWithPrefix("hibernate.hikari"));
+
+        HikariConfig hikari = new HikariConfig(properties);
+        hikari.setPoolName(poolName);
+        hikari.setJdbcUrl(url);
+        if (username != null) {
+            hikari.setUsername(username);
+        }
+        if (password != null) {
+            hikari.setPassword(password);
+        }
+        String driver = config.getProperty("hibernate.connection.driver_class");
+        if (driver != null && hikari.getDriverClassName() == null) {
+            hikari.setDriverClassName(driver);
+        }
+        hikari.setMetricsTrackerFactory(PoolMetrics.TRACKER_FACTORY);
+        return new HikariDataSource(hikari);
+    }
+}
@@ -0,0 +1,83 @@
+package io.korus.data.pool;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.korus.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PoolMetrics {
+
+    private static final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+    static final MetricsTrackerFactory TRACKER_FACTORY = (poolName, poolStats) -> {
+        PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+        pools.put(poolName, metrics);
+        return metrics.tracker();
+    };
+
+    private final String name;
+    private final PoolStats stats;
+    private final LatencyHistogram acquisition = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LatencyHistogram creation = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    private PoolMetrics(String name, PoolStats stats) {
+        this.name = name;
+        this.stats = stats;
+    }
+
+    public static List<PoolMetrics> all() {
+        return new ArrayList<>(pools.values());
+    }
+
+    public static PoolMetrics get(String poolName) {
+        return pools.get(poolName);
+    }
+
+    private IMetricsTracker tracker() {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long millis) {
+                creation.record(TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long nanos) {
+                acquisition.record(nanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long millis) {
+                usage.record(TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+
+            @Override
+            public void close() {
+                pools.remove(name, PoolMetrics.this);
+            }
+        };
+    }
+
+    public String getName() { return name; }
+    public int getActiveConnections() { return stats.getActiveConnections(); }
+    public int getIdleConnections() { return stats.getIdleConnections(); }
+    public int getPendingThreads() { return stats.getPendingThreads(); }
+    public int getTotalConnections() { return stats.getTotalConnections(); }
+    public int getMaxConnections() { return stats.getMaxConnections(); }
+    public LatencyHistogram getAcquisition() { return acquisition; }
+    public LatencyHistogram getUsage() { return usage; }
+    public LatencyHistogram getCreation() { return creation; }
+    public long getTimeouts() { return timeouts.sum(); }
+}
@@ -0,0 +1,63 @@
+package io.korus.data.routing;
+
+import java.util.concurrent.Callable;
+
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> replicaRoute = new ThreadLocal<>();
+    private static final ThreadLocal<RequestState> requestState = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static boolean routeToReplica(boolean replica) {
+        boolean previous = isReplicaRouted();
+        replicaRoute.set(replica ? Boolean.TRUE : Boolean.FALSE);
+        return previous;
+    }
+
+    public static void restoreRoute(boolean previous) {
+        if (previous) {
+            replicaRoute.set(Boolean.TRUE);
+        } else {
+            replicaRoute.remove();
+        }
+    }
+
+    public static boolean isReplicaRouted() {
+        return replicaRoute.get() == Boolean.TRUE;
+    }
+
+    public static <T> T callOnReplica(Callable<T> callable) throws Exception {
+        boolean previous = routeToReplica(true);
+        try {
+            return callable.call();
+        } finally {
+            restoreRoute(previous);
+        }
+    }
+
+    public static void beginRequest() {
+        requestState.set(new RequestState());
+    }
+
+    public static void endRequest() {
+        requestState.remove();
+    }
+
+    public static void markWrite() {
+        RequestState state = requestState.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+
+    public static boolean hasWrittenInRequest() {
+        RequestState state = requestState.get();
+        return state != null && state.wrote;
+    }
+
+    private static final class RequestState {
+        private boolean wrote;
+    }
+}
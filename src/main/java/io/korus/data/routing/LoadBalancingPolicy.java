@@ -0,0 +1,14 @@
+package io.korus.data.routing;
+
+public enum LoadBalancingPolicy {
+    ROUND_ROBIN,
+    RANDOM,
+    LEAST_CONNECTIONS;
+
+    public static LoadBalancingPolicy fromProperty(String value) {
+        if (value == null || value.isEmpty()) {
+            return ROUND_ROBIN;
+        }
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
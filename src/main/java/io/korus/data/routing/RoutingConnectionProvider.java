@@ -0,0 +1,130 @@
+package io.korus.data.routing;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Stoppable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("serial")
+public class RoutingConnectionProvider implements ConnectionProvider, Stoppable {
+
+    private final DataSource primary;
+    private final Replica[] replicas;
+    private final LoadBalancingPolicy policy;
+    private final boolean readYourWrites;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Map<Connection, Replica> leased = new ConcurrentHashMap<>();
+
+    public RoutingConnectionProvider(DataSource primary, Map<String, DataSource> replicas,
+                                     LoadBalancingPolicy policy, boolean readYourWrites) {
+        this.primary = primary;
+        this.policy = policy;
+        this.readYourWrites = readYourWrites;
+        List<Replica> configured = new ArrayList<>();
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            configured.add(new Replica(entry.getKey(), entry.getValue()));
+        }
+        this.replicas = configured.toArray(new Replica[0]);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.length == 0 || !DataSourceRouting.isReplicaRouted()
+                || readYourWrites && DataSourceRouting.hasWrittenInRequest()) {
+            return primary.getConnection();
+        }
+
+        Replica replica = selectReplica();
+        Connection connection;
+        try {
+            connection = replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            System.err.println("Replica " + replica.name + " unavailable, reading from primary: " + e.getMessage());
+            return primary.getConnection();
+        }
+        replica.active.incrementAndGet();
+        leased.put(connection, replica);
+        return connection;
+    }
+
+    private Replica selectReplica() {
+        switch (policy) {
+            case RANDOM:
+                return replicas[ThreadLocalRandom.current().nextInt(replicas.length)];
+            case LEAST_CONNECTIONS:
+                Replica least = replicas[0];
+                for (int i = 1; i < replicas.length; i++) {
+                    if (replicas[i].active.get() < least.active.get()) {
+                        least = replicas[i];
+                    }
+                }
+                return least;
+            default:
+                return replicas[Math.floorMod(sequence.getAndIncrement(), replicas.length)];
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        Replica replica = leased.remove(connection);
+        if (replica != null) {
+            replica.active.decrementAndGet();
+        }
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return (T) this;
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+
+    @Override
+    public void stop() {
+        close(primary);
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+    }
+
+    private void close(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                System.err.println("Failed to close data source: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger active = new AtomicInteger();
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -115,7 +115,9 @@ public class DevModeManager {
             webServer = new WebServer(port);
             RequestHandler handler = new RequestHandler(context);
             webServer.setHandler(handler);
+            webServer.addWebSocketEndpoints(context.getWebSocketBroadcaster());
             webServer.start();
+            context.markReady();
 
             System.out.println("✅ Hot reload completed successfully!");
             System.out.println("🌐 Server restarted at: http://localhost:" + port);
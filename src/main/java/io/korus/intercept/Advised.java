@@ -0,0 +1,10 @@
+package io.korus.intercept;
+
+public interface Advised {
+
+    Object korus$target();
+
+    static Object unwrap(Object bean) {
+        return bean instanceof Advised ? ((Advised) bean).korus$target() : bean;
+    }
+}
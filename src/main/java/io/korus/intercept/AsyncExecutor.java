@@ -0,0 +1,54 @@
+package io.korus.intercept;
+
+import io.korus.config.ConfigurationManager;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class AsyncExecutor {
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private AsyncExecutor() {
+    }
+
+    public static Executor shared() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (AsyncExecutor.class) {
+                current = executor;
+                if (current == null) {
+                    current = create();
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ThreadPoolExecutor create() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        int threads = Math.max(1, config.getIntProperty("korus.async.threads", Runtime.getRuntime().availableProcessors()));
+        int queueCapacity = Math.max(1, config.getIntProperty("korus.async.queue-capacity", 1000));
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "korus-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+
+        config.addChangeListener("korus.async.threads", (previous, current, changedKeys) -> {
+            int resized = Math.max(1, current.getInt("korus.async.threads", threads));
+            if (resized > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(resized);
+                pool.setCorePoolSize(resized);
+            } else {
+                pool.setCorePoolSize(resized);
+                pool.setMaximumPoolSize(resized);
+            }
+        });
+        return pool;
+    }
+}
@@ -0,0 +1,73 @@
+package io.korus.intercept;
+
+import io.korus.intercept.annotation.Async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+public class AsyncInterceptorProvider implements InterceptorProvider {
+
+    public static final int ORDER = 100;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Interceptor getInterceptor(Class<?> targetClass, Method method) {
+        if (!method.isAnnotationPresent(Async.class)) {
+            return null;
+        }
+        Class<?> returnType = method.getReturnType();
+        boolean returnsFuture = returnType.isAssignableFrom(CompletableFuture.class);
+        if (returnType != void.class && !returnsFuture) {
+            throw new IllegalStateException("@Async method " + method + " must return void, Future or CompletableFuture");
+        }
+
+        return invocation -> {
+            Invocation detached = invocation.detach();
+            CompletableFuture<Object> future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return detached.proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new CompletionException(t);
+                }
+            }, AsyncExecutor.shared()).thenCompose(AsyncInterceptorProvider::unwrap);
+
+            if (!returnsFuture) {
+                future.whenComplete((result, failure) -> {
+                    if (failure != null) {
+                        System.err.println("@Async method " + method.getName() + " failed: " + failure.getMessage());
+                    }
+                });
+                return null;
+            }
+            return future;
+        };
+    }
+
+    private static CompletionStage<Object> unwrap(Object result) {
+        if (result instanceof CompletionStage) {
+            @SuppressWarnings("unchecked")
+            CompletionStage<Object> stage = (CompletionStage<Object>) result;
+            return stage;
+        }
+        if (result instanceof Future) {
+            Future<?> future = (Future<?>) result;
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return future.get();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, AsyncExecutor.shared());
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+}
@@ -0,0 +1,58 @@
+package io.korus.intercept;
+
+import io.korus.config.ConfigurationManager;
+import io.korus.intercept.annotation.Cacheable;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CacheInterceptorProvider implements InterceptorProvider {
+
+    public static final int ORDER = 200;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Interceptor getInterceptor(Class<?> targetClass, Method method) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null) {
+            return null;
+        }
+        if (method.getReturnType() == void.class) {
+            throw new IllegalStateException("@Cacheable method " + method + " must return a value");
+        }
+
+        int maxSize = cacheable.maxSize() > 0 ? cacheable.maxSize()
+                : ConfigurationManager.getInstance().getIntProperty("korus.cache.max-size", 1000);
+        Map<List<Object>, Object> cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        return invocation -> {
+            Object[] args = invocation.getArguments();
+            List<Object> key = args == null || args.length == 0 ? List.of() : Arrays.asList(args.clone());
+            synchronized (cache) {
+                Object cached = cache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            Object result = invocation.proceed();
+            if (result != null) {
+                synchronized (cache) {
+                    cache.put(key, result);
+                }
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package io.korus.intercept;
+
+import java.lang.reflect.Method;
+
+public interface GeneratedProxy extends Advised {
+
+    String SUFFIX = "$$KorusProxy";
+
+    Method[] korus$methods();
+
+    void korus$bind(Object target, Interceptor[][] interceptors);
+
+    static Method method(Class<?> declaringClass, String name, Class<?>... parameterTypes) {
+        try {
+            return declaringClass.getDeclaredMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Generated proxy is out of date with " + declaringClass.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Throwable> RuntimeException rethrow(Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+}
@@ -0,0 +1,7 @@
+package io.korus.intercept;
+
+@FunctionalInterface
+public interface Interceptor {
+
+    Object invoke(Invocation invocation) throws Throwable;
+}
@@ -0,0 +1,64 @@
+package io.korus.intercept;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+public final class InterceptorChain {
+
+    private final List<InterceptorProvider> providers;
+
+    public InterceptorChain(Collection<? extends InterceptorProvider> providers) {
+        List<InterceptorProvider> sorted = new ArrayList<>(providers);
+        sorted.sort(Comparator.comparingInt(InterceptorProvider::getOrder));
+        this.providers = List.copyOf(sorted);
+    }
+
+    public InterceptorChain with(InterceptorProvider provider) {
+        List<InterceptorProvider> extended = new ArrayList<>(providers);
+        extended.add(provider);
+        return new InterceptorChain(extended);
+    }
+
+    public Map<Method, Interceptor[]> compile(Class<?> targetClass) {
+        Map<Method, Interceptor[]> advised = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (Class<?> type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (method.isBridge() || method.isSynthetic() || Modifier.isStatic(modifiers)
+                        || Modifier.isPrivate(modifiers) || !seen.add(signature(method))) {
+                    continue;
+                }
+                Interceptor[] interceptors = interceptorsFor(targetClass, method);
+                if (interceptors.length > 0) {
+                    if (Modifier.isFinal(modifiers)) {
+                        throw new IllegalStateException("Cannot advise final method " + method);
+                    }
+                    advised.put(method, interceptors);
+                }
+            }
+        }
+        return advised;
+    }
+
+    public Interceptor[] interceptorsFor(Class<?> targetClass, Method method) {
+        List<Interceptor> interceptors = new ArrayList<>(providers.size());
+        for (InterceptorProvider provider : providers) {
+            Interceptor interceptor = provider.getInterceptor(targetClass, method);
+            if (interceptor != null) {
+                interceptors.add(interceptor);
+            }
+        }
+        return interceptors.toArray(new Interceptor[0]);
+    }
+
+    public static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    public static Object invoke(Object target, Method method, Object[] args, Interceptor[] interceptors,
+                                Invocation.Joinpoint joinpoint) throws Throwable {
+        return new Invocation(target, method, args, interceptors, joinpoint).proceed();
+    }
+}
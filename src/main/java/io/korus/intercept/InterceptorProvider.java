@@ -0,0 +1,10 @@
+package io.korus.intercept;
+
+import java.lang.reflect.Method;
+
+public interface InterceptorProvider {
+
+    int getOrder();
+
+    Interceptor getInterceptor(Class<?> targetClass, Method method);
+}
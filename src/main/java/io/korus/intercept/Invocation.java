@@ -0,0 +1,43 @@
+package io.korus.intercept;
+
+import java.lang.reflect.Method;
+
+public final class Invocation {
+
+    private final Object target;
+    private final Method method;
+    private final Object[] args;
+    private final Interceptor[] interceptors;
+    private final Joinpoint joinpoint;
+    private int index;
+
+    Invocation(Object target, Method method, Object[] args, Interceptor[] interceptors, Joinpoint joinpoint) {
+        this.target = target;
+        this.method = method;
+        this.args = args;
+        this.interceptors = interceptors;
+        this.joinpoint = joinpoint;
+    }
+
+    public Object getTarget() { return target; }
+    public Method getMethod() { return method; }
+    public Object[] getArguments() { return args; }
+
+    public Object proceed() throws Throwable {
+        if (index < interceptors.length) {
+            return interceptors[index++].invoke(this);
+        }
+        return joinpoint.proceed(args);
+    }
+
+    public Invocation detach() {
+        Invocation copy = new Invocation(target, method, args, interceptors, joinpoint);
+        copy.index = index;
+        return copy;
+    }
+
+    @FunctionalInterface
+    public interface Joinpoint {
+        Object proceed(Object[] args) throws Throwable;
+    }
+}
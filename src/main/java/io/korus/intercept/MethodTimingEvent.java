@@ -0,0 +1,22 @@
+package io.korus.intercept;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.korus.MethodTiming")
+@Label("Timed Method")
+@Category({"Korus", "Beans"})
+@Description("Invocation of a bean method annotated with @Timed")
+@StackTrace(false)
+public class MethodTimingEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
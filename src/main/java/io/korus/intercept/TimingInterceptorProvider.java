@@ -0,0 +1,53 @@
+package io.korus.intercept;
+
+import io.korus.intercept.annotation.Timed;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+public class TimingInterceptorProvider implements InterceptorProvider {
+
+    public static final int ORDER = 0;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Interceptor getInterceptor(Class<?> targetClass, Method method) {
+        Timed timed = method.getAnnotation(Timed.class);
+        if (timed == null && Modifier.isPublic(method.getModifiers())) {
+            timed = targetClass.getAnnotation(Timed.class);
+        }
+        if (timed == null) {
+            return null;
+        }
+
+        String name = targetClass.getSimpleName() + "." + method.getName();
+        long slowThresholdNanos = timed.slowThresholdMillis() >= 0 ? TimeUnit.MILLISECONDS.toNanos(timed.slowThresholdMillis()) : -1;
+        return invocation -> {
+            MethodTimingEvent event = new MethodTimingEvent();
+            event.begin();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = name;
+                    event.failed = failed;
+                    event.commit();
+                }
+                if (slowThresholdNanos >= 0 && elapsed > slowThresholdNanos) {
+                    System.err.println("Slow invocation of " + name + ": " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+                }
+            }
+        };
+    }
+}
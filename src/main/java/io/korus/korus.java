@@ -1,13 +1,17 @@
 package io.korus;
 
+import io.korus.cds.CdsArchive;
+import io.korus.cds.CdsTrainer;
 import io.korus.config.ConfigurationManager;
 import io.korus.console.Logger;
 import io.korus.context.ApplicationContext;
 import io.korus.web.RequestHandler;
+import io.korus.web.WarmupRunner;
 import io.korus.web.WebServer;
 import io.korus.dev.DevModeManager;
 
 import java.lang.management.ManagementFactory;
+import java.util.OptionalInt;
 
 public class korus {
 
@@ -16,10 +20,21 @@ public class korus {
         long startTime = System.currentTimeMillis();
         long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
 
-        boolean devMode = isDevMode(args);
         Logger logger = new Logger("korus-framework");
+        boolean training = CdsArchive.isTrainingRequested(args);
+        boolean devMode = !training && isDevMode(args);
 
         try {
+            if (training && !CdsArchive.isRecording()) {
+                System.exit(CdsArchive.record(mainClass, args, logger));
+            }
+            if (!training) {
+                OptionalInt exitCode = CdsArchive.launchWithArchive(mainClass, args, logger);
+                if (exitCode.isPresent()) {
+                    System.exit(exitCode.getAsInt());
+                }
+            }
+
             ApplicationContext context = new ApplicationContext();
             context.scan(mainClass.getPackageName());
             context.start();
@@ -29,12 +44,24 @@ public class korus {
             logger.logWebServerStarting();
             WebServer server = new WebServer(port);
             RequestHandler handler = new RequestHandler(context);
+            WarmupRunner warmup = new WarmupRunner(context, handler, logger);
+            if (warmup.isEnabled() && !training) {
+                warmup.run();
+            }
             server.setHandler(handler);
+            server.addWebSocketEndpoints(context.getWebSocketBroadcaster());
             server.start();
             long totalStartupTime = System.currentTimeMillis() - startTime;
             double actualStartupSeconds = totalStartupTime / 1000.0;
             double actualJvmRuntime = (System.currentTimeMillis() - jvmStartTime) / 1000.0;
             logger.logWebServerStarted(port, actualStartupSeconds, actualJvmRuntime);
+            context.markReady();
+            if (training) {
+                new CdsTrainer(context, port, logger).exerciseRoutes();
+                server.stop();
+                logger.info("c.k.f.KorusApplication", "AppCDS training run completed; dumping archive on exit");
+                System.exit(0);
+            }
             if (devMode) {
                 logger.info("c.k.f.dev.DevModeManager", "Starting development mode with hot reload");
                 DevModeManager devManager = new DevModeManager(context, server, mainClass.getPackageName());
@@ -0,0 +1,270 @@
+package io.korus.processor;
+
+import io.korus.context.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@SupportedAnnotationTypes({
+        "jakarta.persistence.Entity",
+        "io.korus.core.annotations.Component",
+        "io.korus.core.annotations.Service",
+        "io.korus.data.annotation.Repository",
+        "io.korus.web.annotaion.Controller",
+        "io.korus.web.annotaion.RestController",
+        "io.korus.web.annotaion.WebSocketEndpoint"
+})
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    private static final Map<String, String> KINDS = new LinkedHashMap<>();
+    private static final Map<String, String> ROUTE_ANNOTATIONS = new LinkedHashMap<>();
+
+    static {
+        KINDS.put("jakarta.persistence.Entity", ComponentIndex.ENTITY);
+        KINDS.put("io.korus.core.annotations.Component", ComponentIndex.COMPONENT);
+        KINDS.put("io.korus.core.annotations.Service", ComponentIndex.SERVICE);
+        KINDS.put("io.korus.data.annotation.Repository", ComponentIndex.REPOSITORY);
+        KINDS.put("io.korus.web.annotaion.Controller", ComponentIndex.CONTROLLER);
+        KINDS.put("io.korus.web.annotaion.RestController", ComponentIndex.REST_CONTROLLER);
+        KINDS.put("io.korus.web.annotaion.WebSocketEndpoint", ComponentIndex.WEBSOCKET);
+
+        ROUTE_ANNOTATIONS.put("io.korus.web.annotaion.GetMapping", "GET");
+        ROUTE_ANNOTATIONS.put("io.korus.web.annotaion.PostMapping", "POST");
+        ROUTE_ANNOTATIONS.put("io.korus.web.annotaion.PutMapping", "PUT");
+        ROUTE_ANNOTATIONS.put("io.korus.web.annotaion.DeleteMapping", "DELETE");
+        ROUTE_ANNOTATIONS.put("io.korus.web.annotaion.PatchMapping", "PATCH");
+    }
+
+    private final Map<String, Set<String>> entriesByType = new TreeMap<>();
+    private boolean previousLoaded;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousLoaded) {
+            loadPreviousIndex();
+            previousLoaded = true;
+        }
+
+        for (Element root : roundEnv.getRootElements()) {
+            if (root instanceof TypeElement) {
+                entriesByType.remove(((TypeElement) root).getQualifiedName().toString());
+            }
+        }
+
+        for (TypeElement annotation : annotations) {
+            String kind = KINDS.get(annotation.getQualifiedName().toString());
+            if (kind == null) {
+                continue;
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (!(element instanceof TypeElement)) {
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                String typeName = binaryName(type);
+                Set<String> entries = entriesByType.computeIfAbsent(type.getQualifiedName().toString(), k -> new LinkedHashSet<>());
+                entries.add(kind + "\t" + typeName);
+                if (ComponentIndex.CONTROLLER.equals(kind) || ComponentIndex.REST_CONTROLLER.equals(kind)) {
+                    entries.addAll(routeEntries(type, typeName));
+                }
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private List<String> routeEntries(TypeElement type, String typeName) {
+        List<String> entries = new ArrayList<>();
+
+        String basePath = "";
+        AnnotationMirror classMapping = findAnnotation(type, "io.korus.web.annotaion.RequestMapping");
+        if (classMapping != null) {
+            List<String> paths = stringArray(classMapping, "value");
+            if (paths.isEmpty()) paths = stringArray(classMapping, "path");
+            if (!paths.isEmpty()) basePath = paths.get(0);
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) enclosed;
+            String signature = method.getSimpleName() + "\t" + parameterTypes(method);
+
+            AnnotationMirror requestMapping = findAnnotation(method, "io.korus.web.annotaion.RequestMapping");
+            if (requestMapping != null) {
+                List<String> paths = stringArray(requestMapping, "value");
+                if (paths.isEmpty()) paths = stringArray(requestMapping, "path");
+                if (paths.isEmpty()) paths = Collections.singletonList("");
+                List<String> methods = enumArray(requestMapping, "method");
+                if (methods.isEmpty()) methods = Collections.singletonList("GET");
+                for (String path : paths) {
+                    for (String httpMethod : methods) {
+                        entries.add(ComponentIndex.ROUTE + "\t" + typeName + "\t" + httpMethod + "\t" + combinePaths(basePath, path) + "\t" + signature);
+                    }
+                }
+            }
+
+            for (Map.Entry<String, String> route : ROUTE_ANNOTATIONS.entrySet()) {
+                AnnotationMirror mapping = findAnnotation(method, route.getKey());
+                if (mapping != null) {
+                    String path = stringValue(mapping, "value");
+                    entries.add(ComponentIndex.ROUTE + "\t" + typeName + "\t" + route.getValue() + "\t" + combinePaths(basePath, path) + "\t" + signature);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private String combinePaths(String basePath, String path) {
+        if (basePath.isEmpty()) return path;
+        if (path.isEmpty()) return basePath;
+
+        String combined = basePath;
+        if (!basePath.endsWith("/") && !path.startsWith("/")) {
+            combined += "/";
+        }
+        combined += path;
+        return combined.replaceAll("//+", "/");
+    }
+
+    private String parameterTypes(ExecutableElement method) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (VariableElement parameter : method.getParameters()) {
+            joiner.add(typeName(processingEnv.getTypeUtils().erasure(parameter.asType())));
+        }
+        return joiner.toString();
+    }
+
+    private String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return typeName(((javax.lang.model.type.ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                return binaryName((TypeElement) processingEnv.getTypeUtils().asElement(type));
+            default:
+                return type.toString();
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationValue attribute(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String stringValue(AnnotationMirror mirror, String name) {
+        AnnotationValue value = attribute(mirror, name);
+        return value != null ? value.getValue().toString() : "";
+    }
+
+    private List<String> stringArray(AnnotationMirror mirror, String name) {
+        List<String> result = new ArrayList<>();
+        AnnotationValue value = attribute(mirror, name);
+        if (value == null) {
+            return result;
+        }
+        if (value.getValue() instanceof List) {
+            for (Object item : (List<?>) value.getValue()) {
+                result.add(((AnnotationValue) item).getValue().toString());
+            }
+        } else {
+            result.add(value.getValue().toString());
+        }
+        return result;
+    }
+
+    private List<String> enumArray(AnnotationMirror mirror, String name) {
+        List<String> result = new ArrayList<>();
+        AnnotationValue value = attribute(mirror, name);
+        if (value == null) {
+            return result;
+        }
+        Object raw = value.getValue();
+        List<?> items = raw instanceof List ? (List<?>) raw : Collections.singletonList(value);
+        for (Object item : items) {
+            Object constant = ((AnnotationValue) item).getValue();
+            result.add(((VariableElement) constant).getSimpleName().toString());
+        }
+        return result;
+    }
+
+    private void loadPreviousIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] parts = line.split("\t");
+                    if (parts.length < 2) {
+                        continue;
+                    }
+                    String sourceName = parts[1].replace('$', '.');
+                    if (processingEnv.getElementUtils().getTypeElement(sourceName) != null) {
+                        entriesByType.computeIfAbsent(sourceName, k -> new LinkedHashSet<>()).add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Korus component index\n");
+                for (Set<String> entries : entriesByType.values()) {
+                    for (String entry : entries) {
+                        writer.write(entry);
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + ComponentIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package io.korus.processor;
+
+import io.korus.intercept.GeneratedProxy;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+@SupportedAnnotationTypes({
+        "io.korus.transaction.annotation.Transactional",
+        "io.korus.intercept.annotation.Timed",
+        "io.korus.intercept.annotation.Async",
+        "io.korus.intercept.annotation.Cacheable"
+})
+public class ProxyProcessor extends AbstractProcessor {
+
+    private static final String TRANSACTIONAL = "io.korus.transaction.annotation.Transactional";
+    private static final String TIMED = "io.korus.intercept.annotation.Timed";
+    private static final Set<String> METHOD_ANNOTATIONS = Set.of(TRANSACTIONAL, TIMED,
+            "io.korus.intercept.annotation.Async", "io.korus.intercept.annotation.Cacheable");
+    private static final Set<String> OBJECT_METHODS = Set.of("equals", "hashCode", "toString");
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> targets = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element type = element.getKind() == ElementKind.METHOD ? element.getEnclosingElement() : element;
+                if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                    targets.add((TypeElement) type);
+                }
+            }
+        }
+        for (TypeElement type : targets) {
+            if (generated.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (!isProxyable(type)) {
+            return;
+        }
+        ExecutableElement constructor = superConstructor(type);
+        if (constructor == null) {
+            error(type, "Cannot generate proxy for " + type + ": no non-private constructor");
+            return;
+        }
+
+        List<ExecutableElement> routed = new ArrayList<>();
+        List<ExecutableElement> delegated = new ArrayList<>();
+        for (ExecutableElement method : overridableMethods(type)) {
+            boolean advised = isAdvised(type, method);
+            if (method.getModifiers().contains(Modifier.FINAL)) {
+                if (advised) {
+                    error(method, "Cannot advise final method " + type + "." + method);
+                    return;
+                }
+                if (method.getModifiers().contains(Modifier.PUBLIC)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Final method " + type + "." + method + " runs on the proxy instead of the target", method);
+                }
+                continue;
+            }
+            (advised ? routed : delegated).add(method);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + GeneratedProxy.SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source(type, packageName, simpleName, constructor, routed, delegated));
+            }
+        } catch (IOException e) {
+            error(type, "Failed to write proxy " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isProxyable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.FINAL)) {
+            error(type, "Cannot generate proxy for final class " + type);
+            return false;
+        }
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "Cannot generate proxy for private class " + type);
+                return false;
+            }
+            if (current != type && !type.getModifiers().contains(Modifier.STATIC)) {
+                error(type, "Cannot generate proxy for inner class " + type);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ExecutableElement superConstructor(TypeElement type) {
+        ExecutableElement best = null;
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() != ElementKind.CONSTRUCTOR || enclosed.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            ExecutableElement constructor = (ExecutableElement) enclosed;
+            if (best == null || constructor.getParameters().size() < best.getParameters().size()) {
+                best = constructor;
+            }
+        }
+        return best;
+    }
+
+    private List<ExecutableElement> overridableMethods(TypeElement type) {
+        Elements elements = processingEnv.getElementUtils();
+        List<ExecutableElement> seen = new ArrayList<>();
+        List<ExecutableElement> result = new ArrayList<>();
+        PackageElement targetPackage = elements.getPackageOf(type);
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            boolean object = current.getQualifiedName().contentEquals("java.lang.Object");
+            boolean samePackage = elements.getPackageOf(current).equals(targetPackage);
+            for (Element enclosed : current.getEnclosedElements()) {
+                if (enclosed.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+                ExecutableElement method = (ExecutableElement) enclosed;
+                Set<Modifier> modifiers = method.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)
+                        || isOverridden(seen, method, type)) {
+                    continue;
+                }
+                seen.add(method);
+                if (!modifiers.contains(Modifier.PUBLIC) && !samePackage) {
+                    continue;
+                }
+                if (object && !OBJECT_METHODS.contains(method.getSimpleName().toString())) {
+                    continue;
+                }
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    private boolean isOverridden(List<ExecutableElement> seen, ExecutableElement method, TypeElement type) {
+        for (ExecutableElement overrider : seen) {
+            if (overrider.getSimpleName().equals(method.getSimpleName())
+                    && processingEnv.getElementUtils().overrides(overrider, method, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private boolean isAdvised(TypeElement type, ExecutableElement method) {
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (METHOD_ANNOTATIONS.contains(annotationName(mirror))) {
+                return true;
+            }
+        }
+        if (((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object")) {
+            return false;
+        }
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            String name = annotationName(mirror);
+            if (TRANSACTIONAL.equals(name)
+                    || TIMED.equals(name) && method.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String annotationName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private String source(TypeElement type, String packageName, String simpleName, ExecutableElement constructor,
+                          List<ExecutableElement> routed, List<ExecutableElement> delegated) {
+        String typeParameters = typeParameters(type.getTypeParameters());
+        String targetType = type.getQualifiedName() + typeArguments(type.getTypeParameters());
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        out.append("public class ").append(simpleName).append(typeParameters)
+                .append(" extends ").append(targetType)
+                .append(" implements io.korus.intercept.GeneratedProxy {\n\n");
+
+        out.append("    private static final java.lang.reflect.Method[] KORUS$METHODS = {\n");
+        for (ExecutableElement method : routed) {
+            out.append("            io.korus.intercept.GeneratedProxy.method(")
+                    .append(erasure(method.getEnclosingElement().asType())).append(".class, \"")
+                    .append(method.getSimpleName()).append("\"");
+            for (VariableElement parameter : method.getParameters()) {
+                out.append(", ").append(erasure(parameter.asType())).append(".class");
+            }
+            out.append("),\n");
+        }
+        out.append("    };\n\n");
+
+        out.append("    private ").append(targetType).append(" korus$target;\n");
+        out.append("    private io.korus.intercept.Interceptor[][] korus$interceptors;\n\n");
+
+        out.append("    private ").append(simpleName).append("()").append(throwsClause(constructor.getThrownTypes())).append(" {\n");
+        out.append("        super(");
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            out.append(i > 0 ? ", " : "").append(defaultValue(parameters.get(i).asType()));
+        }
+        out.append(");\n    }\n\n");
+
+        out.append("    @Override\n");
+        out.append("    public java.lang.reflect.Method[] korus$methods() {\n");
+        out.append("        return KORUS$METHODS;\n    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public void korus$bind(Object target, io.korus.intercept.Interceptor[][] interceptors) {\n");
+        out.append("        this.korus$target = (").append(targetType).append(") target;\n");
+        out.append("        this.korus$interceptors = interceptors;\n    }\n\n");
+        out.append("    @Override\n");
+        out.append("    public Object korus$target() {\n");
+        out.append("        return korus$target;\n    }\n");
+
+        for (int i = 0; i < routed.size(); i++) {
+            appendRouted(out, type, routed.get(i), i);
+        }
+        for (ExecutableElement method : delegated) {
+            appendDelegated(out, type, method);
+        }
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void appendRouted(StringBuilder out, TypeElement type, ExecutableElement method, int index) {
+        ExecutableType member = memberType(type, method);
+        appendSignature(out, method, member);
+        boolean isVoid = member.getReturnType().getKind() == TypeKind.VOID;
+        List<? extends TypeMirror> parameters = member.getParameterTypes();
+
+        StringJoiner args = new StringJoiner(", ", "new Object[]{", "}");
+        StringJoiner unpacked = new StringJoiner(", ");
+        for (int i = 0; i < parameters.size(); i++) {
+            args.add("p" + i);
+            unpacked.add("(" + parameters.get(i) + ") korus$args[" + i + "]");
+        }
+        String call = "korus$target." + method.getSimpleName() + "(" + unpacked + ")";
+
+        out.append("        try {\n");
+        out.append("            ").append(isVoid ? "" : "return (" + member.getReturnType() + ") ")
+                .append("io.korus.intercept.InterceptorChain.invoke(korus$target, KORUS$METHODS[").append(index)
+                .append("], ").append(args).append(", korus$interceptors[").append(index).append("],\n");
+        if (isVoid) {
+            out.append("                    korus$args -> {\n");
+            out.append("                        ").append(call).append(";\n");
+            out.append("                        return null;\n");
+            out.append("                    });\n");
+        } else {
+            out.append("                    korus$args -> ").append(call).append(");\n");
+        }
+        out.append("        } catch (Throwable korus$failure) {\n");
+        out.append("            throw io.korus.intercept.GeneratedProxy.rethrow(korus$failure);\n");
+        out.append("        }\n    }\n");
+    }
+
+    private void appendDelegated(StringBuilder out, TypeElement type, ExecutableElement method) {
+        ExecutableType member = memberType(type, method);
+        appendSignature(out, method, member);
+        StringJoiner args = new StringJoiner(", ");
+        for (int i = 0; i < member.getParameterTypes().size(); i++) {
+            args.add("p" + i);
+        }
+        out.append("        ").append(member.getReturnType().getKind() == TypeKind.VOID ? "" : "return ")
+                .append("korus$target.").append(method.getSimpleName()).append("(").append(args).append(");\n");
+        out.append("    }\n");
+    }
+
+    private ExecutableType memberType(TypeElement type, ExecutableElement method) {
+        return (ExecutableType) processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), method);
+    }
+
+    private void appendSignature(StringBuilder out, ExecutableElement method, ExecutableType member) {
+        Set<Modifier> modifiers = method.getModifiers();
+        out.append("\n    @Override\n    ");
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            out.append("public ");
+        } else if (modifiers.contains(Modifier.PROTECTED)) {
+            out.append("protected ");
+        }
+        String typeParameters = typeVariables(member.getTypeVariables());
+        if (!typeParameters.isEmpty()) {
+            out.append(typeParameters).append(' ');
+        }
+        out.append(member.getReturnType()).append(' ').append(method.getSimpleName()).append('(');
+        List<? extends TypeMirror> parameters = member.getParameterTypes();
+        for (int i = 0; i < parameters.size(); i++) {
+            TypeMirror type = parameters.get(i);
+            out.append(i > 0 ? ", " : "");
+            if (method.isVarArgs() && i == parameters.size() - 1) {
+                out.append(((ArrayType) type).getComponentType()).append("...");
+            } else {
+                out.append(type);
+            }
+            out.append(" p").append(i);
+        }
+        out.append(')').append(throwsClause(member.getThrownTypes())).append(" {\n");
+    }
+
+    private String throwsClause(List<? extends TypeMirror> thrownTypes) {
+        if (thrownTypes.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", " throws ", "");
+        for (TypeMirror thrown : thrownTypes) {
+            joiner.add(thrown.toString());
+        }
+        return joiner.toString();
+    }
+
+    private String typeVariables(List<? extends TypeVariable> variables) {
+        if (variables.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (TypeVariable variable : variables) {
+            TypeMirror upper = variable.getUpperBound();
+            List<? extends TypeMirror> bounds = upper.getKind() == TypeKind.INTERSECTION
+                    ? ((IntersectionType) upper).getBounds() : List.of(upper);
+            StringJoiner joined = new StringJoiner(" & ");
+            for (TypeMirror bound : bounds) {
+                if (!bound.toString().equals("java.lang.Object")) {
+                    joined.add(bound.toString());
+                }
+            }
+            String name = variable.asElement().getSimpleName().toString();
+            joiner.add(joined.length() == 0 ? name : name + " extends " + joined);
+        }
+        return joiner.toString();
+    }
+
+    private String typeParameters(List<? extends TypeParameterElement> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (TypeParameterElement parameter : parameters) {
+            StringJoiner bounds = new StringJoiner(" & ");
+            for (TypeMirror bound : parameter.getBounds()) {
+                if (!bound.toString().equals("java.lang.Object")) {
+                    bounds.add(bound.toString());
+                }
+            }
+            joiner.add(bounds.length() == 0 ? parameter.getSimpleName() : parameter.getSimpleName() + " extends " + bounds);
+        }
+        return joiner.toString();
+    }
+
+    private String typeArguments(List<? extends TypeParameterElement> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "<", ">");
+        for (TypeParameterElement parameter : parameters) {
+            joiner.add(parameter.getSimpleName());
+        }
+        return joiner.toString();
+    }
+
+    private String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\0'";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "(" + type + ") 0";
+            default:
+                return "(" + erasure(type) + ") null";
+        }
+    }
+
+    private String erasure(TypeMirror type) {
+        Types types = processingEnv.getTypeUtils();
+        return types.erasure(type).toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
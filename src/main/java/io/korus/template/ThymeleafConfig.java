@@ -1,28 +1,51 @@
 package io.korus.template;
 
+import io.korus.config.ConfigSnapshot;
+import io.korus.config.ConfigurationManager;
 import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 public class ThymeleafConfig {
-    private static TemplateEngine templateEngine;
+    private static volatile TemplateEngine templateEngine;
 
     public static TemplateEngine getTemplateEngine() {
-        if (templateEngine == null) {
-            templateEngine = createTemplateEngine();
+        TemplateEngine engine = templateEngine;
+        if (engine == null) {
+            synchronized (ThymeleafConfig.class) {
+                engine = templateEngine;
+                if (engine == null) {
+                    ConfigurationManager config = ConfigurationManager.getInstance();
+                    engine = createTemplateEngine(config.getSnapshot());
+                    templateEngine = engine;
+                    config.addChangeListener("korus.template.", (previous, current, changedKeys) ->
+                            templateEngine = createTemplateEngine(current));
+                }
+            }
         }
-        return templateEngine;
+        return engine;
     }
 
-    private static TemplateEngine createTemplateEngine() {
+    private static TemplateEngine createTemplateEngine(ConfigSnapshot config) {
         ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
         templateResolver.setPrefix("templates/");
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode(TemplateMode.HTML);
         templateResolver.setCharacterEncoding("UTF-8");
-        templateResolver.setCacheable(false);
+        templateResolver.setCacheable(config.getBoolean("korus.template.cache", false));
+        long cacheTtl = config.getLong("korus.template.cache-ttl", 0L);
+        if (cacheTtl > 0) {
+            templateResolver.setCacheTTLMs(cacheTtl);
+        }
         TemplateEngine engine = new TemplateEngine();
         engine.setTemplateResolver(templateResolver);
+        int cacheSize = config.getInt("korus.template.cache-size", 0);
+        if (cacheSize > 0) {
+            StandardCacheManager cacheManager = new StandardCacheManager();
+            cacheManager.setTemplateCacheMaxSize(cacheSize);
+            engine.setCacheManager(cacheManager);
+        }
         return engine;
     }
 }
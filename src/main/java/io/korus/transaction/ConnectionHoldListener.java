@@ -0,0 +1,28 @@
+package io.korus.transaction;
+
+import org.hibernate.SessionEventListener;
+
+class ConnectionHoldListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long acquiredAt;
+    private long heldNanos;
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseStart() {
+        if (acquiredAt != 0) {
+            heldNanos += System.nanoTime() - acquiredAt;
+            acquiredAt = 0;
+        }
+    }
+
+    long getHeldNanos() {
+        return acquiredAt != 0 ? heldNanos + System.nanoTime() - acquiredAt : heldNanos;
+    }
+}
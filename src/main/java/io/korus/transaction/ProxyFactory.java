@@ -1,148 +1,133 @@
 package io.korus.transaction;
 
+import io.korus.intercept.*;
 import org.objenesis.Objenesis;
 import org.objenesis.ObjenesisStd;
-import org.objenesis.instantiator.ObjectInstantiator;
-import org.springframework.cglib.proxy.Enhancer;
-import org.springframework.cglib.proxy.MethodInterceptor;
-import org.springframework.cglib.proxy.MethodProxy;
-import io.korus.transaction.annotation.Transactional;
+import org.springframework.cglib.proxy.*;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ProxyFactory {
 
+    private static final Interceptor[] NO_INTERCEPTORS = new Interceptor[0];
+
     private final TransactionManager transactionManager;
     private final Objenesis objenesis = new ObjenesisStd();
-
+    private final Map<Class<?>, Optional<Class<?>>> generatedProxyClasses = new ConcurrentHashMap<>();
+    private volatile InterceptorChain interceptorChain;
 
     public ProxyFactory(TransactionManager transactionManager) {
         this.transactionManager = transactionManager;
+        this.interceptorChain = new InterceptorChain(List.of(
+                new TimingInterceptorProvider(),
+                new AsyncInterceptorProvider(),
+                new CacheInterceptorProvider(),
+                new TransactionInterceptorProvider(transactionManager)));
+    }
+
+    public synchronized void addInterceptorProvider(InterceptorProvider provider) {
+        interceptorChain = interceptorChain.with(provider);
     }
 
     public Object createProxy(Object target) {
         Class<?> targetClass = target.getClass();
-
-        try {
-            Enhancer enhancer = new Enhancer();
-            enhancer.setSuperclass(targetClass);
-            enhancer.setCallbackType(MethodInterceptor.class);
-            Class<?> proxyClass = enhancer.createClass();
-            ObjectInstantiator<?> instantiator = objenesis.getInstantiatorOf(proxyClass);
-            Object proxyInstance = instantiator.newInstance();
-            ((org.springframework.cglib.proxy.Factory) proxyInstance)
-                    .setCallback(0, new TransactionalMethodInterceptor(target, transactionManager));
-
-            copyFields(target, proxyInstance);
-            return proxyInstance;
-
-        } catch (Exception e) {
+        Map<Method, Interceptor[]> advised = interceptorChain.compile(targetClass);
+        if (advised.isEmpty()) {
             return target;
         }
-    }
 
-
-    private Object createProxyWithConstructorArgs(Object target, Class<?> targetClass, Exception originalException) {
-        try {
-            Enhancer enhancer = new Enhancer();
-            enhancer.setSuperclass(targetClass);
-            enhancer.setCallback(new TransactionalMethodInterceptor(target, transactionManager));
-            Object[] constructorArgs = extractConstructorArgs(target);
-            Object proxyInstance = enhancer.create(getConstructorArgTypes(constructorArgs), constructorArgs);
-
-            copyFields(target, proxyInstance);
-            return proxyInstance;
-
-        } catch (Exception e2) {
-            return target;
-        }
+        Object generated = createGeneratedProxy(target, advised);
+        return generated != null ? generated : createRuntimeProxy(target, advised);
     }
 
-    private Object[] extractConstructorArgs(Object target) {
-
-        Field[] fields = target.getClass().getDeclaredFields();
-        java.util.List<Object> args = new java.util.ArrayList<>();
-
-        for (Field field : fields) {
-            if (field.getType().getName().contains("Repository") ||
-                    field.getType().getName().contains("Service")) {
-                try {
-                    field.setAccessible(true);
-                    Object value = field.get(target);
-                    if (value != null) {
-                        args.add(value);
-                    }
-                } catch (Exception e) {
+    private Object createGeneratedProxy(Object target, Map<Method, Interceptor[]> advised) {
+        Class<?> proxyClass = generatedProxyClasses.computeIfAbsent(target.getClass(), ProxyFactory::findGeneratedProxyClass)
+                .orElse(null);
+        if (proxyClass == null) {
+            return null;
+        }
 
-                }
-            }
+        GeneratedProxy proxy = (GeneratedProxy) objenesis.newInstance(proxyClass);
+        Map<String, Interceptor[]> unrouted = new HashMap<>();
+        for (Map.Entry<Method, Interceptor[]> entry : advised.entrySet()) {
+            unrouted.put(InterceptorChain.signature(entry.getKey()), entry.getValue());
+        }
+        Method[] methods = proxy.korus$methods();
+        Interceptor[][] interceptors = new Interceptor[methods.length][];
+        for (int i = 0; i < methods.length; i++) {
+            Interceptor[] chain = unrouted.remove(InterceptorChain.signature(methods[i]));
+            interceptors[i] = chain != null ? chain : NO_INTERCEPTORS;
+        }
+        if (!unrouted.isEmpty()) {
+            System.err.println("Generated proxy " + proxyClass.getName() + " does not route " + unrouted.keySet()
+                    + ", falling back to a runtime proxy");
+            return null;
         }
 
-        return args.toArray();
+        proxy.korus$bind(target, interceptors);
+        return proxy;
     }
 
-    private Class<?>[] getConstructorArgTypes(Object[] args) {
-        Class<?>[] types = new Class<?>[args.length];
-        for (int i = 0; i < args.length; i++) {
-            types[i] = args[i].getClass();
+    private static Optional<Class<?>> findGeneratedProxyClass(Class<?> targetClass) {
+        String name = targetClass.getName() + GeneratedProxy.SUFFIX;
+        Class<?> proxyClass;
+        try {
+            proxyClass = Class.forName(name, true, targetClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
         }
-        return types;
+        if (proxyClass.getSuperclass() != targetClass || !GeneratedProxy.class.isAssignableFrom(proxyClass)) {
+            throw new IllegalStateException(name + " is not a generated proxy of " + targetClass.getName());
+        }
+        return Optional.of(proxyClass);
     }
 
-    private void copyFields(Object source, Object target) {
-        Class<?> clazz = source.getClass();
-
-        while (clazz != null && clazz != Object.class) {
-            for (Field field : clazz.getDeclaredFields()) {
-                try {
-                    field.setAccessible(true);
-                    Object value = field.get(source);
-                    field.set(target, value);
-                } catch (Exception e) {
+    private Object createRuntimeProxy(Object target, Map<Method, Interceptor[]> advised) {
+        Class<?> targetClass = target.getClass();
+        List<Callback> callbacks = new ArrayList<>(advised.size() + 2);
+        callbacks.add((Dispatcher) () -> target);
+        callbacks.add((FixedValue) () -> target);
+        Map<String, Integer> callbackIndex = new HashMap<>();
+        for (Map.Entry<Method, Interceptor[]> entry : advised.entrySet()) {
+            callbackIndex.put(InterceptorChain.signature(entry.getKey()), callbacks.size());
+            callbacks.add(new ChainedMethodInterceptor(target, entry.getValue()));
+        }
+        Class<?>[] callbackTypes = new Class<?>[callbacks.size()];
+        callbackTypes[0] = Dispatcher.class;
+        callbackTypes[1] = FixedValue.class;
+        Arrays.fill(callbackTypes, 2, callbackTypes.length, MethodInterceptor.class);
 
-                }
-            }
-            clazz = clazz.getSuperclass();
+        try {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(targetClass);
+            enhancer.setInterfaces(new Class<?>[]{Advised.class});
+            enhancer.setCallbackTypes(callbackTypes);
+            enhancer.setCallbackFilter(method -> method.getDeclaringClass() == Advised.class
+                    ? 1 : callbackIndex.getOrDefault(InterceptorChain.signature(method), 0));
+            Class<?> proxyClass = enhancer.createClass();
+            Object proxyInstance = objenesis.newInstance(proxyClass);
+            ((Factory) proxyInstance).setCallbacks(callbacks.toArray(new Callback[0]));
+            return proxyInstance;
+        } catch (RuntimeException | LinkageError e) {
+            throw new IllegalStateException("Failed to create proxy for " + targetClass.getName(), e);
         }
     }
 
-    private static class TransactionalMethodInterceptor implements MethodInterceptor {
+    private static class ChainedMethodInterceptor implements MethodInterceptor {
 
         private final Object target;
-        private final TransactionManager transactionManager;
+        private final Interceptor[] interceptors;
 
-        public TransactionalMethodInterceptor(Object target, TransactionManager transactionManager) {
+        ChainedMethodInterceptor(Object target, Interceptor[] interceptors) {
             this.target = target;
-            this.transactionManager = transactionManager;
+            this.interceptors = interceptors;
         }
 
         @Override
         public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-            if (method.getDeclaringClass().equals(Object.class)) {
-                return proxy.invokeSuper(obj, args);
-            }
-
-            Transactional transactional = method.getAnnotation(Transactional.class);
-            if (transactional == null) {
-                transactional = target.getClass().getAnnotation(Transactional.class);
-            }
-
-            if (transactional != null) {
-                return transactionManager.executeInTransaction(method, transactional, () -> {
-                    try {
-                        return proxy.invokeSuper(obj, args);
-                    } catch (Throwable t) {
-                        if (t instanceof RuntimeException) {
-                            throw (RuntimeException) t;
-                        } else {
-                            throw new RuntimeException(t);
-                        }
-                    }
-                });
-            } else {
-                return proxy.invokeSuper(obj, args);
-            }
+            return InterceptorChain.invoke(target, method, args, interceptors, arguments -> proxy.invoke(target, arguments));
         }
     }
 }
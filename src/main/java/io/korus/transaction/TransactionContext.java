@@ -1,44 +1,80 @@
 package io.korus.transaction;
 
+import io.korus.intercept.AsyncExecutor;
 import org.hibernate.*;
 
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TransactionContext {
-    private static final ThreadLocal<Stack<TransactionInfo>> transactionStack =
-            new ThreadLocal<Stack<TransactionInfo>>() {
-                @Override
-                protected Stack<TransactionInfo> initialValue() {
-                    return new Stack<>();
-                }
-            };
+    private static final ThreadLocal<Frame> currentFrame = new ThreadLocal<>();
 
     public static void pushTransaction(TransactionInfo transactionInfo) {
-        transactionStack.get().push(transactionInfo);
+        currentFrame.set(new Frame(transactionInfo, currentFrame.get()));
     }
 
     public static TransactionInfo popTransaction() {
-        Stack<TransactionInfo> stack = transactionStack.get();
-        if (!stack.isEmpty()) {
-            return stack.pop();
+        Frame frame = currentFrame.get();
+        if (frame == null) {
+            return null;
+        }
+        if (frame.parent == null) {
+            currentFrame.remove();
+        } else {
+            currentFrame.set(frame.parent);
         }
-        return null;
+        return frame.transactionInfo;
     }
 
     public static TransactionInfo getCurrentTransaction() {
-        Stack<TransactionInfo> stack = transactionStack.get();
-        if (!stack.isEmpty()) {
-            return stack.peek();
-        }
-        return null;
+        Frame frame = currentFrame.get();
+        return frame != null ? frame.transactionInfo : null;
     }
 
     public static boolean hasActiveTransaction() {
         return getCurrentTransaction() != null;
     }
 
+    public static Object callInTransaction(TransactionInfo transactionInfo,
+                                           TransactionManager.TransactionalCallback callback) throws Throwable {
+        pushTransaction(transactionInfo);
+        try {
+            return callback.execute();
+        } finally {
+            popTransaction();
+        }
+    }
+
+    public static void afterCommit(Runnable action) {
+        TransactionInfo transactionInfo = getCurrentTransaction();
+        if (transactionInfo != null) {
+            transactionInfo.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+
+    public static void afterCommitAsync(Runnable action) {
+        TransactionInfo transactionInfo = getCurrentTransaction();
+        if (transactionInfo != null) {
+            transactionInfo.afterCommitAsync(action);
+        } else {
+            AsyncExecutor.shared().execute(action);
+        }
+    }
+
     public static void clearTransactionContext() {
-        transactionStack.remove();
+        currentFrame.remove();
+    }
+
+    private static final class Frame {
+        private final TransactionInfo transactionInfo;
+        private final Frame parent;
+
+        Frame(TransactionInfo transactionInfo, Frame parent) {
+            this.transactionInfo = transactionInfo;
+            this.parent = parent;
+        }
     }
 
     public static class TransactionInfo {
@@ -46,7 +82,9 @@ public class TransactionContext {
         private final Transaction transaction;
         private final boolean readOnly;
         private final int timeout;
-        private boolean rollbackOnly = false;
+        private volatile boolean rollbackOnly = false;
+        private volatile boolean timedOut = false;
+        private List<Synchronization> synchronizations;
 
         public TransactionInfo(Session session, Transaction transaction, boolean readOnly, int timeout) {
             this.session = session;
@@ -61,5 +99,93 @@ public class TransactionContext {
         public int getTimeout() { return timeout; }
         public boolean isRollbackOnly() { return rollbackOnly; }
         public void setRollbackOnly() { this.rollbackOnly = true; }
+        public boolean isTimedOut() { return timedOut; }
+
+        void markTimedOut() {
+            this.timedOut = true;
+            this.rollbackOnly = true;
+        }
+
+        public void afterCommit(Runnable action) {
+            register(Phase.COMMIT, committed -> action.run(), false);
+        }
+
+        public void afterCommitAsync(Runnable action) {
+            register(Phase.COMMIT, committed -> action.run(), true);
+        }
+
+        public void afterRollback(Runnable action) {
+            register(Phase.ROLLBACK, committed -> action.run(), false);
+        }
+
+        public void afterRollbackAsync(Runnable action) {
+            register(Phase.ROLLBACK, committed -> action.run(), true);
+        }
+
+        public void afterCompletion(CompletionCallback callback) {
+            register(Phase.COMPLETION, callback, false);
+        }
+
+        public void afterCompletionAsync(CompletionCallback callback) {
+            register(Phase.COMPLETION, callback, true);
+        }
+
+        private void register(Phase phase, CompletionCallback callback, boolean async) {
+            if (synchronizations == null) {
+                synchronizations = new ArrayList<>();
+            }
+            synchronizations.add(new Synchronization(phase, callback, async));
+        }
+
+        void runSynchronizations(boolean committed) {
+            List<Synchronization> registered = synchronizations;
+            if (registered == null) {
+                return;
+            }
+            synchronizations = null;
+            for (Synchronization synchronization : registered) {
+                if (synchronization.phase == Phase.COMMIT && !committed
+                        || synchronization.phase == Phase.ROLLBACK && committed) {
+                    continue;
+                }
+                if (synchronization.async) {
+                    AsyncExecutor.shared().execute(() -> synchronization.run(committed));
+                } else {
+                    synchronization.run(committed);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface CompletionCallback {
+        void afterCompletion(boolean committed);
+    }
+
+    private enum Phase {
+        COMMIT,
+        ROLLBACK,
+        COMPLETION
+    }
+
+    private static final class Synchronization {
+        private final Phase phase;
+        private final CompletionCallback callback;
+        private final boolean async;
+
+        Synchronization(Phase phase, CompletionCallback callback, boolean async) {
+            this.phase = phase;
+            this.callback = callback;
+            this.async = async;
+        }
+
+        void run(boolean committed) {
+            try {
+                callback.afterCompletion(committed);
+            } catch (RuntimeException e) {
+                System.err.println("Transaction synchronization failed after "
+                        + (committed ? "commit" : "rollback") + ": " + e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,47 @@
+package io.korus.transaction;
+
+import io.korus.intercept.Interceptor;
+import io.korus.intercept.InterceptorProvider;
+import io.korus.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+public class TransactionInterceptorProvider implements InterceptorProvider {
+
+    public static final int ORDER = 300;
+
+    private final TransactionManager transactionManager;
+
+    public TransactionInterceptorProvider(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Interceptor getInterceptor(Class<?> targetClass, Method method) {
+        Transactional transactional = method.getAnnotation(Transactional.class);
+        if (transactional == null) {
+            transactional = targetClass.getAnnotation(Transactional.class);
+        }
+        if (transactional == null) {
+            return null;
+        }
+
+        Transactional attributes = transactional;
+        return invocation -> transactionManager.executeInTransaction(invocation.getMethod(), attributes, () -> {
+            try {
+                return invocation.proceed();
+            } catch (Throwable t) {
+                if (t instanceof RuntimeException) {
+                    throw (RuntimeException) t;
+                } else {
+                    throw new RuntimeException(t);
+                }
+            }
+        });
+    }
+}
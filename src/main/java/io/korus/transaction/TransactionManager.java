@@ -1,18 +1,50 @@
 package io.korus.transaction;
 
+import io.korus.config.ConfigSnapshot;
+import io.korus.config.ConfigurationManager;
+import io.korus.data.routing.DataSourceRouting;
 import io.korus.transaction.annotation.Isolation;
 import io.korus.transaction.annotation.Propagation;
 import io.korus.transaction.annotation.Transactional;
 import org.hibernate.*;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 
 public class TransactionManager {
-    private final SessionFactory sessionFactory;
+    private static final ScheduledThreadPoolExecutor timeoutScheduler = createTimeoutScheduler();
+
+    private volatile SessionFactory sessionFactory;
+    private volatile long slowThresholdNanos;
 
     public TransactionManager(SessionFactory sessionFactory) {
         this.sessionFactory = sessionFactory;
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        applySlowThreshold(config.getSnapshot());
+        config.addChangeListener("korus.transaction.", (previous, current, changedKeys) -> applySlowThreshold(current));
+    }
+
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    private void applySlowThreshold(ConfigSnapshot snapshot) {
+        long millis = snapshot.getLong("korus.transaction.slow-threshold-ms", 1000);
+        slowThresholdNanos = millis >= 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : -1;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "korus-tx-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
     }
 
     public Object executeInTransaction(Method method, Transactional transactional,
@@ -29,11 +61,11 @@ public class TransactionManager {
                 if (existingTx != null) {
                     return executeWithExistingTransaction(callback, existingTx, transactional);
                 } else {
-                    return executeWithNewTransaction(callback, transactional, readOnly, timeout);
+                    return executeWithNewTransaction(method, callback, transactional, readOnly, timeout);
                 }
 
             case REQUIRES_NEW:
-                return executeWithNewTransaction(callback, transactional, readOnly, timeout);
+                return executeWithNewTransaction(method, callback, transactional, readOnly, timeout);
 
             case SUPPORTS:
                 if (existingTx != null) {
@@ -58,18 +90,29 @@ public class TransactionManager {
                 return executeWithExistingTransaction(callback, existingTx, transactional);
 
             default:
-                return executeWithNewTransaction(callback, transactional, readOnly, timeout);
+                return executeWithNewTransaction(method, callback, transactional, readOnly, timeout);
         }
     }
 
-    private Object executeWithNewTransaction(TransactionalCallback callback,
+    private Object executeWithNewTransaction(Method method, TransactionalCallback callback,
                                              Transactional transactional,
                                              boolean readOnly, int timeout) throws Throwable {
-        Session session = sessionFactory.openSession();
+        boolean previousRoute = DataSourceRouting.routeToReplica(readOnly);
+        ConnectionHoldListener connectionHold = new ConnectionHoldListener();
+        long start = System.nanoTime();
+        boolean committed = false;
+        Session session = null;
         Transaction transaction = null;
         TransactionContext.TransactionInfo txInfo = null;
+        ScheduledFuture<?> watchdog = null;
 
         try {
+            session = openSession(readOnly, connectionHold);
+            if (readOnly) {
+                session.setDefaultReadOnly(true);
+                session.setHibernateFlushMode(FlushMode.MANUAL);
+                setConnectionReadOnly(session, true);
+            }
             transaction = session.beginTransaction();
             applyIsolationLevel(session, transactional.isolation());
 
@@ -78,34 +121,105 @@ public class TransactionManager {
             }
 
             txInfo = new TransactionContext.TransactionInfo(session, transaction, readOnly, timeout);
-            TransactionContext.pushTransaction(txInfo);
-
-            Object result = callback.execute();
+            if (timeout > 0) {
+                watchdog = scheduleTimeout(session, txInfo, timeout);
+            }
+            Object result = TransactionContext.callInTransaction(txInfo, callback);
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+            if (txInfo.isTimedOut()) {
+                throw new TransactionTimeoutException(describe(method) + " exceeded its timeout of " + timeout + "s");
+            }
 
             if (txInfo.isRollbackOnly()) {
                 transaction.rollback();
             } else {
                 transaction.commit();
+                committed = true;
+                if (!readOnly) {
+                    DataSourceRouting.markWrite();
+                }
             }
 
             return result;
 
         } catch (Throwable ex) {
-
+            boolean timedOut = txInfo != null && txInfo.isTimedOut();
             if (transaction != null && transaction.isActive()) {
-                if (shouldRollback(ex, transactional)) {
+                if (timedOut || shouldRollback(ex, transactional)) {
                     transaction.rollback();
                 } else {
                     transaction.commit();
+                    committed = true;
                 }
             }
+            if (timedOut && !(ex instanceof TransactionTimeoutException)) {
+                throw new TransactionTimeoutException(describe(method) + " exceeded its timeout of " + timeout + "s", ex);
+            }
             throw ex;
 
         } finally {
-            TransactionContext.popTransaction();
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
             if (session != null && session.isOpen()) {
+                if (readOnly) {
+                    setConnectionReadOnly(session, false);
+                }
                 session.close();
             }
+            DataSourceRouting.restoreRoute(previousRoute);
+            record(method, System.nanoTime() - start, connectionHold.getHeldNanos(), committed,
+                    txInfo != null && txInfo.isTimedOut());
+            if (txInfo != null) {
+                txInfo.runSynchronizations(committed);
+            }
+        }
+    }
+
+    private Session openSession(boolean readOnly, SessionEventListener listener) {
+        SessionBuilder builder = sessionFactory.withOptions().eventListeners(listener);
+        if (readOnly) {
+            builder.connectionHandlingMode(PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_HOLD);
+        }
+        return builder.openSession();
+    }
+
+    private ScheduledFuture<?> scheduleTimeout(Session session, TransactionContext.TransactionInfo txInfo, int timeout) {
+        return timeoutScheduler.schedule(() -> {
+            txInfo.markTimedOut();
+            try {
+                session.cancelQuery();
+            } catch (HibernateException e) {
+                System.err.println("Failed to cancel statement after transaction timeout: " + e.getMessage());
+            }
+        }, timeout, TimeUnit.SECONDS);
+    }
+
+    private void record(Method method, long durationNanos, long connectionHoldNanos, boolean committed, boolean timedOut) {
+        if (method == null) {
+            return;
+        }
+        TransactionMetrics.shared().forMethod(method).record(durationNanos, connectionHoldNanos, committed, timedOut);
+        long threshold = slowThresholdNanos;
+        if (threshold >= 0 && durationNanos > threshold) {
+            System.err.println("Slow transaction " + describe(method) + ": "
+                    + TimeUnit.NANOSECONDS.toMillis(durationNanos) + " ms, connection held "
+                    + TimeUnit.NANOSECONDS.toMillis(connectionHoldNanos) + " ms"
+                    + (committed ? "" : ", rolled back"));
+        }
+    }
+
+    private String describe(Method method) {
+        return method != null ? method.getDeclaringClass().getSimpleName() + "." + method.getName() : "transaction";
+    }
+
+    private void setConnectionReadOnly(Session session, boolean readOnly) {
+        try {
+            session.doWork(connection -> connection.setReadOnly(readOnly));
+        } catch (HibernateException e) {
+            System.err.println("Failed to set connection read-only to " + readOnly + ": " + e.getMessage());
         }
     }
 
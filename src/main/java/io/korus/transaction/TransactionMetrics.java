@@ -0,0 +1,61 @@
+package io.korus.transaction;
+
+import io.korus.metrics.LatencyHistogram;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class TransactionMetrics {
+
+    private static final TransactionMetrics shared = new TransactionMetrics();
+
+    private final Map<Method, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    public static TransactionMetrics shared() {
+        return shared;
+    }
+
+    MethodMetrics forMethod(Method method) {
+        return methods.computeIfAbsent(method, m -> new MethodMetrics(m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+    }
+
+    public List<MethodMetrics> getMethods() {
+        List<MethodMetrics> result = new ArrayList<>(methods.values());
+        result.sort(Comparator.comparingLong((MethodMetrics m) -> m.getDuration().getTotalNanos()).reversed());
+        return result;
+    }
+
+    public static final class MethodMetrics {
+        private final String name;
+        private final LatencyHistogram duration = new LatencyHistogram();
+        private final LatencyHistogram connectionHold = new LatencyHistogram();
+        private final LongAdder commits = new LongAdder();
+        private final LongAdder rollbacks = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        MethodMetrics(String name) {
+            this.name = name;
+        }
+
+        void record(long durationNanos, long connectionHoldNanos, boolean committed, boolean timedOut) {
+            duration.record(durationNanos);
+            connectionHold.record(connectionHoldNanos);
+            (committed ? commits : rollbacks).increment();
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+
+        public String getName() { return name; }
+        public LatencyHistogram getDuration() { return duration; }
+        public LatencyHistogram getConnectionHold() { return connectionHold; }
+        public long getCommits() { return commits.sum(); }
+        public long getRollbacks() { return rollbacks.sum(); }
+        public long getTimeouts() { return timeouts.sum(); }
+    }
+}
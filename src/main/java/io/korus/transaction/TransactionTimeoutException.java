@@ -0,0 +1,14 @@
+package io.korus.transaction;
+
+public class TransactionTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransactionTimeoutException(String message) {
+        super(message);
+    }
+
+    public TransactionTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
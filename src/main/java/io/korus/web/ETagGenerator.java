@@ -0,0 +1,153 @@
+package io.korus.web;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+final class ETagGenerator {
+
+    private static final VersionAccessor UNVERSIONED = new VersionAccessor(null, null);
+    private static final Map<Class<?>, VersionAccessor> accessors = new ConcurrentHashMap<>();
+    private static final byte[] NULL_MARKER = {-1, -1, -1, -1};
+
+    private ETagGenerator() {
+    }
+
+    static String fromBytes(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, body.length);
+        return "W/\"" + Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    static String fromVersions(Object result, MediaFormat format) {
+        if (result == null) {
+            return null;
+        }
+
+        MessageDigest digest = sha256();
+        if (result instanceof Collection) {
+            Collection<?> items = (Collection<?>) result;
+            if (items.isEmpty()) {
+                return null;
+            }
+            update(digest, Integer.toString(items.size()));
+            for (Object item : items) {
+                if (!updateVersion(digest, item)) {
+                    return null;
+                }
+            }
+        } else if (!updateVersion(digest, result)) {
+            return null;
+        }
+
+        byte[] hash = digest.digest();
+        return "W/\"v-" + format.ordinal() + "-" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static boolean updateVersion(MessageDigest digest, Object entity) {
+        if (entity == null) {
+            return false;
+        }
+        VersionAccessor accessor = accessors.computeIfAbsent(entity.getClass(), ETagGenerator::createAccessor);
+        if (accessor == UNVERSIONED) {
+            return false;
+        }
+        try {
+            Object id = accessor.idField != null ? accessor.idField.get(entity) : null;
+            Object version = accessor.versionField.get(entity);
+            if (version == null) {
+                return false;
+            }
+            update(digest, entity.getClass().getName());
+            update(digest, id == null ? null : id.getClass().getName() + ":" + id);
+            update(digest, version.toString());
+            return true;
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static VersionAccessor createAccessor(Class<?> type) {
+        Field idField = null;
+        Field versionField = null;
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (versionField == null && field.isAnnotationPresent(Version.class)) {
+                    versionField = field;
+                } else if (idField == null && field.isAnnotationPresent(Id.class)) {
+                    idField = field;
+                }
+            }
+        }
+
+        if (versionField == null) {
+            return UNVERSIONED;
+        }
+        try {
+            versionField.setAccessible(true);
+            if (idField != null) {
+                idField.setAccessible(true);
+            }
+        } catch (RuntimeException e) {
+            return UNVERSIONED;
+        }
+        return new VersionAccessor(idField, versionField);
+    }
+
+    private static class VersionAccessor {
+        private final Field idField;
+        private final Field versionField;
+
+        VersionAccessor(Field idField, Field versionField) {
+            this.idField = idField;
+            this.versionField = versionField;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.korus.web;
+
+import java.nio.file.Path;
+
+public class FileRegion {
+    private final Path path;
+    private final long position;
+    private final long count;
+
+    public FileRegion(Path path, long position, long count) {
+        if (position < 0) throw new IllegalArgumentException("Position must not be negative");
+        this.path = path;
+        this.position = position;
+        this.count = count;
+    }
+
+    public static FileRegion of(Path path) {
+        return new FileRegion(path, 0, -1);
+    }
+
+    public Path getPath() { return path; }
+    public long getPosition() { return position; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,108 @@
+package io.korus.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public enum MediaFormat {
+    JSON("application/json", "application/json; charset=UTF-8", new ObjectMapper()),
+    SMILE("application/x-jackson-smile", "application/x-jackson-smile", new SmileMapper()),
+    CBOR("application/cbor", "application/cbor", new CBORMapper());
+
+    private final String mediaType;
+    private final String contentType;
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    MediaFormat(String mediaType, String contentType, ObjectMapper mapper) {
+        this.mediaType = mediaType;
+        this.contentType = contentType;
+        this.mapper = mapper;
+    }
+
+    public String getMediaType() { return mediaType; }
+    public String getContentType() { return contentType; }
+    public ObjectMapper getMapper() { return mapper; }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    public static MediaFormat fromContentType(String contentType) {
+        if (contentType == null || contentType.isEmpty()) {
+            return JSON;
+        }
+        MediaFormat format = forMediaType(stripParameters(contentType));
+        return format != null ? format : JSON;
+    }
+
+    public static MediaFormat negotiate(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return JSON;
+        }
+
+        MediaFormat best = null;
+        double bestQuality = 0.0;
+
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            MediaFormat format = forMediaType(parts[0].trim().toLowerCase());
+            if (format == null) {
+                continue;
+            }
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+
+        return best != null ? best : JSON;
+    }
+
+    private static MediaFormat forMediaType(String mediaType) {
+        switch (mediaType) {
+            case "application/json":
+            case "application/*":
+            case "*/*":
+                return JSON;
+            case "application/x-jackson-smile":
+            case "application/smile":
+                return SMILE;
+            case "application/cbor":
+                return CBOR;
+            default:
+                return null;
+        }
+    }
+
+    private static String stripParameters(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String mediaType = semicolon >= 0 ? contentType.substring(0, semicolon) : contentType;
+        return mediaType.trim().toLowerCase();
+    }
+}
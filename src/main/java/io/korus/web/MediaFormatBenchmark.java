@@ -0,0 +1,101 @@
+package io.korus.web;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MediaFormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int orders = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        OrderPage payload = OrderPage.sample(orders);
+
+        for (int i = 0; i < 2; i++) {
+            for (MediaFormat format : MediaFormat.values()) {
+                measure(format, payload, Math.max(1, iterations / 4));
+            }
+        }
+
+        System.out.printf("%-6s %12s %14s %14s%n", "format", "bytes", "encode us/op", "decode us/op");
+        for (MediaFormat format : MediaFormat.values()) {
+            long[] result = measure(format, payload, iterations);
+            System.out.printf("%-6s %12d %14.1f %14.1f%n", format, result[0],
+                    result[1] / 1e3 / iterations, result[2] / 1e3 / iterations);
+        }
+    }
+
+    private static long[] measure(MediaFormat format, OrderPage payload, int iterations) throws Exception {
+        ObjectWriter writer = format.writer(OrderPage.class);
+        ObjectReader reader = format.reader(OrderPage.class);
+        byte[] encoded = writer.writeValueAsBytes(payload);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encoded = writer.writeValueAsBytes(payload);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        OrderPage decoded = null;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoded = reader.readValue(encoded);
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        if (decoded == null || decoded.orders.size() != payload.orders.size()
+                || decoded.orders.get(0).items.size() != payload.orders.get(0).items.size()) {
+            throw new IllegalStateException(format + " did not round-trip the payload");
+        }
+        return new long[] {encoded.length, encodeNanos, decodeNanos};
+    }
+
+    public static class OrderPage {
+        public int page;
+        public long total;
+        public List<Order> orders = new ArrayList<>();
+
+        static OrderPage sample(int size) {
+            OrderPage page = new OrderPage();
+            page.total = size;
+            for (int i = 0; i < size; i++) {
+                Order order = new Order();
+                order.id = 10_000L + i;
+                order.customer = "customer-" + (i % 37);
+                order.status = i % 3 == 0 ? "SHIPPED" : "PENDING";
+                order.createdAt = 1_700_000_000_000L + i * 60_000L;
+                order.paid = i % 2 == 0;
+                order.tags = List.of("priority", "web");
+                for (int j = 0; j < 5; j++) {
+                    LineItem item = new LineItem();
+                    item.sku = "SKU-" + (i * 5 + j);
+                    item.quantity = 1 + j;
+                    item.unitPrice = 4.99 + j;
+                    order.items.add(item);
+                    order.amount += item.quantity * item.unitPrice;
+                }
+                page.orders.add(order);
+            }
+            return page;
+        }
+    }
+
+    public static class Order {
+        public long id;
+        public String customer;
+        public String status;
+        public long createdAt;
+        public boolean paid;
+        public double amount;
+        public List<String> tags = new ArrayList<>();
+        public List<LineItem> items = new ArrayList<>();
+    }
+
+    public static class LineItem {
+        public String sku;
+        public int quantity;
+        public double unitPrice;
+    }
+}
@@ -0,0 +1,29 @@
+package io.korus.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+public interface MultipartFile {
+
+    String getName();
+
+    String getOriginalFilename();
+
+    String getContentType();
+
+    long getSize();
+
+    boolean isEmpty();
+
+    boolean isInMemory();
+
+    InputStream getInputStream() throws IOException;
+
+    ReadableByteChannel getChannel() throws IOException;
+
+    byte[] getBytes() throws IOException;
+
+    void transferTo(Path destination) throws IOException;
+}
@@ -1,14 +1,33 @@
 package io.korus.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.korus.config.ConfigSnapshot;
+import io.korus.config.ConfigurationManager;
+import io.korus.console.Logger;
 import io.korus.context.ApplicationContext;
+import io.korus.data.RequestSession;
+import io.korus.data.routing.DataSourceRouting;
 import io.korus.template.ThymeleafConfig;
 import io.korus.web.annotaion.PathVariable;
 import io.korus.web.annotaion.RequestBody;
 import io.korus.web.annotaion.RequestParam;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
 import io.undertow.server.*;
+import io.undertow.server.handlers.form.FormData;
+import io.undertow.server.handlers.form.FormDataParser;
+import io.undertow.server.handlers.form.FormParserFactory;
+import io.undertow.server.handlers.form.MultiPartParserDefinition;
 import io.undertow.util.*;
 import org.thymeleaf.context.Context;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
@@ -21,10 +40,26 @@ import java.util.*;
 public class RequestHandler implements HttpHandler {
     private final ApplicationContext context;
     private final ObjectMapper objectMapper;
+    private final FormParserFactory formParserFactory;
+    private final ConfigurationManager config;
+    private final Logger logger = new Logger("korus-framework");
+    private volatile Tunables tunables;
 
     public RequestHandler(ApplicationContext context) {
         this.context = context;
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = MediaFormat.JSON.getMapper();
+
+        this.config = ConfigurationManager.getInstance();
+        this.tunables = new Tunables(config.getSnapshot());
+        this.formParserFactory = createFormParserFactory(config);
+    }
+
+    private FormParserFactory createFormParserFactory(ConfigurationManager config) {
+        Path location = Paths.get(config.getProperty("server.multipart.location", System.getProperty("java.io.tmpdir")));
+        MultiPartParserDefinition multipart = new MultiPartParserDefinition(location);
+        multipart.setFileSizeThreshold(config.getLongProperty("server.multipart.file-size-threshold", 16 * 1024L));
+        multipart.setMaxIndividualFileSize(config.getLongProperty("server.multipart.max-file-size", -1L));
+        return FormParserFactory.builder(false).addParsers(multipart).build();
     }
 
     @Override
@@ -45,7 +80,11 @@ public class RequestHandler implements HttpHandler {
             ApplicationContext.ControllerMethod controllerMethod = methodMap.get(method);
 
             if (controllerMethod != null) {
-                if (needsRequestBody(method)) {
+                long maxRequestSize = tunables().maxRequestSize;
+                if (maxRequestSize > 0) {
+                    exchange.setMaxEntitySize(maxRequestSize);
+                }
+                if (needsRequestBody(method) || controllerMethod.streamsRequestBody()) {
                     exchange.dispatch(() -> {
                         try {
                             handleBlockingRequest(exchange, controllerMethod, method, matchedRoute != null ? matchedRoute : path);
@@ -69,6 +108,16 @@ public class RequestHandler implements HttpHandler {
         }
     }
 
+    private Tunables tunables() {
+        Tunables current = tunables;
+        ConfigSnapshot snapshot = config.getSnapshot();
+        if (current.snapshot != snapshot) {
+            current = new Tunables(snapshot);
+            tunables = current;
+        }
+        return current;
+    }
+
     private String findMatchingRoute(String requestPath) {
         for (String route : context.getRoutes().keySet()) {
             if (route.contains("{")) {
@@ -99,6 +148,12 @@ public class RequestHandler implements HttpHandler {
     }
 
     private void handleControllerMethod(HttpServerExchange exchange, ApplicationContext.ControllerMethod controllerMethod, String httpMethod, String routeTemplate) throws Exception {
+        DataSourceRouting.beginRequest();
+        RequestSession requestSession = RequestSession.begin(tunables().sessionPerRequest ? context.getSessionFactory() : null);
+        exchange.addExchangeCompleteListener((completed, next) -> {
+            requestSession.close();
+            next.proceed();
+        });
         try {
             Object result;
             Method method = controllerMethod.getMethod();
@@ -116,11 +171,18 @@ public class RequestHandler implements HttpHandler {
         } catch (Exception e) {
             e.printStackTrace();
             sendError(exchange, 500, "Internal Server Error: " + e.getMessage());
+        } finally {
+            requestSession.unbind();
+            DataSourceRouting.endRequest();
         }
     }
 
     private void handleResponse(HttpServerExchange exchange, Object result, Model model, String httpMethod) throws Exception {
-        if (result instanceof String) {
+        if (result instanceof ResponseEntity) {
+            handleResponseEntity(exchange, (ResponseEntity<?>) result);
+        } else if (isRawBody(result)) {
+            sendRawBody(exchange, result, null);
+        } else if (result instanceof String) {
             String viewName = (String) result;
             if (viewName.startsWith("redirect:")) {
                 handleRedirect(exchange, viewName);
@@ -128,7 +190,119 @@ public class RequestHandler implements HttpHandler {
                 renderTemplate(exchange, viewName, model);
             }
         } else {
-            sendJsonResponse(exchange, result);
+            sendSerializedResponse(exchange, result);
+        }
+    }
+
+    private void handleResponseEntity(HttpServerExchange exchange, ResponseEntity<?> entity) throws Exception {
+        exchange.setStatusCode(entity.getStatus());
+        for (Map.Entry<String, String> header : entity.getHeaders().entrySet()) {
+            exchange.getResponseHeaders().put(HttpString.tryFromString(header.getKey()), header.getValue());
+        }
+
+        Object body = entity.getBody();
+        String contentType = entity.getContentType();
+
+        if (body == null) {
+            if (contentType != null) {
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+            }
+            exchange.endExchange();
+        } else if (isRawBody(body)) {
+            sendRawBody(exchange, body, contentType);
+        } else if (body instanceof String) {
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType != null ? contentType : "text/plain; charset=UTF-8");
+            exchange.getResponseSender().send((String) body);
+        } else if (contentType != null) {
+            sendSerializedResponse(exchange, body, MediaFormat.fromContentType(contentType));
+        } else {
+            sendSerializedResponse(exchange, body);
+        }
+    }
+
+    private boolean isRawBody(Object body) {
+        return body instanceof byte[] || body instanceof ByteBuffer || body instanceof Path
+                || body instanceof File || body instanceof FileRegion;
+    }
+
+    private void sendRawBody(HttpServerExchange exchange, Object body, String contentType) throws Exception {
+        if (body instanceof byte[]) {
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType != null ? contentType : "application/octet-stream");
+            exchange.getResponseSender().send(ByteBuffer.wrap((byte[]) body));
+        } else if (body instanceof ByteBuffer) {
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType != null ? contentType : "application/octet-stream");
+            exchange.getResponseSender().send(((ByteBuffer) body).duplicate());
+        } else if (body instanceof Path) {
+            sendFile(exchange, FileRegion.of((Path) body), contentType);
+        } else if (body instanceof File) {
+            sendFile(exchange, FileRegion.of(((File) body).toPath()), contentType);
+        } else {
+            sendFile(exchange, (FileRegion) body, contentType);
+        }
+    }
+
+    private void sendFile(HttpServerExchange exchange, FileRegion region, String contentType) throws Exception {
+        Path path = region.getPath();
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            sendError(exchange, 404, "File not found: " + path.getFileName());
+            return;
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long position = Math.min(region.getPosition(), size);
+            long count = region.getCount() < 0 ? size - position : Math.min(region.getCount(), size - position);
+
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE,
+                    contentType != null ? contentType : MimeTypeResolver.getMimeType(path.getFileName().toString()));
+            exchange.setResponseContentLength(count);
+            channel.position(position);
+
+            if (position + count == size) {
+                exchange.getResponseSender().transferFrom(channel, new IoCallback() {
+                    @Override
+                    public void onComplete(HttpServerExchange exchange, Sender sender) {
+                        closeQuietly(channel);
+                        IoCallback.END_EXCHANGE.onComplete(exchange, sender);
+                    }
+
+                    @Override
+                    public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+                        closeQuietly(channel);
+                        IoCallback.END_EXCHANGE.onException(exchange, sender, exception);
+                    }
+                });
+            } else if (exchange.isInIoThread()) {
+                exchange.dispatch(() -> transferRegion(exchange, channel, position, count));
+            } else {
+                transferRegion(exchange, channel, position, count);
+            }
+        } catch (Exception | Error e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private void transferRegion(HttpServerExchange exchange, FileChannel channel, long position, long count) {
+        try {
+            org.xnio.channels.StreamSinkChannel responseChannel = exchange.getResponseChannel();
+            org.xnio.channels.Channels.transferBlocking(responseChannel, channel, position, count);
+            responseChannel.shutdownWrites();
+            org.xnio.channels.Channels.flushBlocking(responseChannel);
+        } catch (IOException e) {
+            logger.warn("c.k.f.web.RequestHandler", "Failed to transfer file region: " + e.getMessage());
+            exchange.setPersistent(false);
+        } finally {
+            closeQuietly(channel);
+            exchange.endExchange();
+        }
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
         }
     }
 
@@ -147,10 +321,42 @@ public class RequestHandler implements HttpHandler {
         exchange.getResponseSender().send("");
     }
 
-    private void sendJsonResponse(HttpServerExchange exchange, Object result) throws Exception {
-        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json; charset=UTF-8");
-        String jsonResponse = objectMapper.writeValueAsString(result);
-        exchange.getResponseSender().send(jsonResponse);
+    private void sendSerializedResponse(HttpServerExchange exchange, Object result) throws Exception {
+        MediaFormat format = MediaFormat.negotiate(exchange.getRequestHeaders().getFirst(Headers.ACCEPT));
+        exchange.getResponseHeaders().add(Headers.VARY, Headers.ACCEPT_STRING);
+        sendSerializedResponse(exchange, result, format);
+    }
+
+    private void sendSerializedResponse(HttpServerExchange exchange, Object result, MediaFormat format) throws Exception {
+        boolean conditional = tunables().etagEnabled && Methods.GET.equals(exchange.getRequestMethod());
+        String etag = conditional ? ETagGenerator.fromVersions(result, format) : null;
+        if (etag != null && sendNotModifiedIfMatches(exchange, etag)) {
+            return;
+        }
+
+        byte[] body = result == null
+                ? format.getMapper().writeValueAsBytes(null)
+                : format.writer(result.getClass()).writeValueAsBytes(result);
+
+        if (conditional && etag == null) {
+            etag = ETagGenerator.fromBytes(body);
+            if (sendNotModifiedIfMatches(exchange, etag)) {
+                return;
+            }
+        }
+
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, format.getContentType());
+        exchange.getResponseSender().send(ByteBuffer.wrap(body));
+    }
+
+    private boolean sendNotModifiedIfMatches(HttpServerExchange exchange, String etag) {
+        exchange.getResponseHeaders().put(Headers.ETAG, etag);
+        if (!ETagGenerator.matches(exchange.getRequestHeaders().getFirst(Headers.IF_NONE_MATCH), etag)) {
+            return false;
+        }
+        exchange.setStatusCode(StatusCodes.NOT_MODIFIED);
+        exchange.endExchange();
+        return true;
     }
 
     private Object[] resolveMethodParametersEnhanced(HttpServerExchange exchange, Method method, String routeTemplate, String httpMethod, Model model) throws Exception {
@@ -165,6 +371,12 @@ public class RequestHandler implements HttpHandler {
 
             if (param.getType() == Model.class) {
                 args[i] = model;
+            } else if (param.getType() == InputStream.class) {
+                args[i] = openRequestStream(exchange);
+            } else if (param.getType() == ReadableByteChannel.class) {
+                args[i] = Channels.newChannel(openRequestStream(exchange));
+            } else if (param.getType() == MultipartFile.class) {
+                args[i] = resolveMultipartFile(exchange, param);
             } else if (param.isAnnotationPresent(PathVariable.class)) {
                 String varName = param.getAnnotation(PathVariable.class).value();
                 if (varName.isEmpty()) varName = param.getName();
@@ -177,6 +389,9 @@ public class RequestHandler implements HttpHandler {
                 if (paramName.isEmpty()) paramName = param.getName();
 
                 String value = queryParams.get(paramName);
+                if (value == null) {
+                    value = getFormField(exchange, paramName);
+                }
                 if (value == null && annotation.required()) {
                     throw new RuntimeException("Required request parameter '" + paramName + "' is missing");
                 }
@@ -197,32 +412,90 @@ public class RequestHandler implements HttpHandler {
             throw new UnsupportedOperationException("@RequestBody can only be used with POST, PUT, or PATCH requests");
         }
 
-        exchange.startBlocking();
-
-        try (InputStream inputStream = exchange.getInputStream()) {
-            StringBuilder bodyBuilder = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    bodyBuilder.append(line);
-                }
-            }
+        MediaFormat format = MediaFormat.fromContentType(exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE));
 
-            String body = bodyBuilder.toString().trim();
-            if (body.isEmpty()) {
+        try (InputStream inputStream = openRequestStream(exchange)) {
+            byte[] body = inputStream.readAllBytes();
+            if (isEmptyBody(body, format)) {
                 return null;
             }
 
             Class<?> paramType = parameter.getType();
 
             try {
-                return objectMapper.readValue(body, paramType);
+                return format.reader(paramType).readValue(body);
             } catch (Exception e) {
-                throw new RuntimeException("Failed to parse JSON request body to " + paramType.getSimpleName() + ": " + e.getMessage(), e);
+                throw new RuntimeException("Failed to parse " + format.name() + " request body to " + paramType.getSimpleName() + ": " + e.getMessage(), e);
             }
         }
     }
 
+    private InputStream openRequestStream(HttpServerExchange exchange) {
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        return exchange.getInputStream();
+    }
+
+    private FormData parseMultipart(HttpServerExchange exchange) throws IOException {
+        FormData formData = exchange.getAttachment(FormDataParser.FORM_DATA);
+        if (formData != null) {
+            return formData;
+        }
+        FormDataParser parser = formParserFactory.createParser(exchange);
+        if (parser == null) {
+            return null;
+        }
+        if (!exchange.isBlocking()) {
+            exchange.startBlocking();
+        }
+        return parser.parseBlocking();
+    }
+
+    private MultipartFile resolveMultipartFile(HttpServerExchange exchange, Parameter param) throws IOException {
+        RequestParam annotation = param.getAnnotation(RequestParam.class);
+        String partName = annotation != null && !annotation.value().isEmpty() ? annotation.value() : param.getName();
+        boolean required = annotation == null || annotation.required();
+
+        FormData formData = parseMultipart(exchange);
+        FormData.FormValue value = formData != null ? formData.getFirst(partName) : null;
+        if (value == null || !value.isFileItem()) {
+            if (required) {
+                throw new RuntimeException("Required multipart file '" + partName + "' is missing");
+            }
+            return null;
+        }
+        return new UndertowMultipartFile(partName, value);
+    }
+
+    private String getFormField(HttpServerExchange exchange, String name) throws IOException {
+        if (!exchange.isInIoThread() || exchange.getAttachment(FormDataParser.FORM_DATA) != null) {
+            FormData formData = parseMultipart(exchange);
+            if (formData != null) {
+                FormData.FormValue value = formData.getFirst(name);
+                if (value != null && !value.isFileItem()) {
+                    return value.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isEmptyBody(byte[] body, MediaFormat format) {
+        if (body.length == 0) {
+            return true;
+        }
+        if (format.isBinary()) {
+            return false;
+        }
+        for (byte b : body) {
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private String extractPathVariable(String actualPath, String variableName) {
         String[] pathSegments = actualPath.split("/");
 
@@ -416,4 +689,18 @@ public class RequestHandler implements HttpHandler {
             return attributes.get(name);
         }
     }
+
+    private static final class Tunables {
+        private final ConfigSnapshot snapshot;
+        private final long maxRequestSize;
+        private final boolean etagEnabled;
+        private final boolean sessionPerRequest;
+
+        Tunables(ConfigSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.maxRequestSize = snapshot.getLong("server.max-request-size", -1L);
+            this.etagEnabled = snapshot.getBoolean("server.etag.enabled", false);
+            this.sessionPerRequest = snapshot.getBoolean("korus.data.session-per-request", false);
+        }
+    }
 }
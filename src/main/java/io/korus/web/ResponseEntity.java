@@ -0,0 +1,47 @@
+package io.korus.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ResponseEntity<T> {
+    private final int status;
+    private final T body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private String contentType;
+
+    public ResponseEntity(int status, T body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    public static <T> ResponseEntity<T> ok(T body) {
+        return new ResponseEntity<>(200, body);
+    }
+
+    public static <T> ResponseEntity<T> status(int status, T body) {
+        return new ResponseEntity<>(status, body);
+    }
+
+    public static <T> ResponseEntity<T> noContent() {
+        return new ResponseEntity<>(204, null);
+    }
+
+    public static <T> ResponseEntity<T> notFound() {
+        return new ResponseEntity<>(404, null);
+    }
+
+    public ResponseEntity<T> header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public ResponseEntity<T> contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public int getStatus() { return status; }
+    public T getBody() { return body; }
+    public Map<String, String> getHeaders() { return headers; }
+    public String getContentType() { return contentType; }
+}
@@ -0,0 +1,95 @@
+package io.korus.web;
+
+import io.undertow.server.handlers.form.FormData;
+import io.undertow.util.Headers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class UndertowMultipartFile implements MultipartFile {
+    private final String name;
+    private final FormData.FormValue value;
+
+    UndertowMultipartFile(String name, FormData.FormValue value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return value.getFileName();
+    }
+
+    @Override
+    public String getContentType() {
+        return value.getHeaders() != null ? value.getHeaders().getFirst(Headers.CONTENT_TYPE) : null;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return value.getFileItem().getFileSize();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to determine size of uploaded file " + name, e);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return value.getFileItem().isInMemory();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return value.getFileItem().getInputStream();
+    }
+
+    @Override
+    public ReadableByteChannel getChannel() throws IOException {
+        if (isInMemory()) {
+            return Channels.newChannel(getInputStream());
+        }
+        return FileChannel.open(value.getFileItem().getFile(), StandardOpenOption.READ);
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream in = getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public void transferTo(Path destination) throws IOException {
+        try (ReadableByteChannel source = getChannel();
+             FileChannel target = FileChannel.open(destination, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (source instanceof FileChannel) {
+                FileChannel file = (FileChannel) source;
+                long size = file.size();
+                long position = 0;
+                while (position < size) {
+                    position += file.transferTo(position, size - position, target);
+                }
+            } else {
+                target.transferFrom(source, 0, Long.MAX_VALUE);
+            }
+        }
+    }
+}
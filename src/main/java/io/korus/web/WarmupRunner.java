@@ -0,0 +1,199 @@
+package io.korus.web;
+
+import io.korus.config.ConfigurationManager;
+import io.korus.console.Logger;
+import io.korus.context.ApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WarmupRunner {
+
+    private static final String LOGGER = "c.k.f.web.WarmupRunner";
+
+    private final ApplicationContext context;
+    private final RequestHandler handler;
+    private final Logger logger;
+    private final boolean enabled;
+    private final long iterations;
+    private final long durationMillis;
+    private final int concurrency;
+    private final String routes;
+    private final String requestsFile;
+    private final String pathVariable;
+
+    public WarmupRunner(ApplicationContext context, RequestHandler handler, Logger logger) {
+        this.context = context;
+        this.handler = handler;
+        this.logger = logger;
+
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        this.enabled = config.getBooleanProperty("korus.warmup.enabled", false);
+        this.iterations = config.getLongProperty("korus.warmup.iterations", 10_000L);
+        this.durationMillis = config.getLongProperty("korus.warmup.duration", 0L);
+        this.concurrency = Math.max(1, config.getIntProperty("korus.warmup.concurrency",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+        this.routes = config.getProperty("korus.warmup.routes", "");
+        this.requestsFile = config.getProperty("korus.warmup.requests", "");
+        this.pathVariable = config.getProperty("korus.warmup.path-variable", "1");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void run() throws Exception {
+        List<WarmupRequest> requests = loadRequests();
+        if (requests.isEmpty()) {
+            logger.warn(LOGGER, "Warmup enabled but no routes selected; skipping");
+            return;
+        }
+
+        WebServer server = new WebServer(0);
+        server.setHandler(handler);
+        server.start(false);
+
+        long start = System.nanoTime();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "korus-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String baseUri = "http://localhost:" + server.getPort();
+            long deadline = durationMillis > 0 ? start + TimeUnit.MILLISECONDS.toNanos(durationMillis) : Long.MAX_VALUE;
+            long limit = durationMillis > 0 ? Long.MAX_VALUE : iterations;
+            AtomicLong issued = new AtomicLong();
+
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long n;
+                    while ((n = issued.getAndIncrement()) < limit && System.nanoTime() < deadline) {
+                        WarmupRequest request = requests.get((int) (n % requests.size()));
+                        try {
+                            HttpResponse<Void> response = client.send(request.toHttpRequest(baseUri),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        completed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            server.stop();
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info(LOGGER, String.format("Warmup replayed %d requests against %d routes in %d ms (%d errors)",
+                completed.get(), requests.size(), elapsed, errors.get()));
+    }
+
+    private List<WarmupRequest> loadRequests() throws IOException {
+        List<WarmupRequest> requests = new ArrayList<>();
+        if (!requestsFile.isEmpty()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(openRequestsFile(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] parts = line.split("\\s+", 3);
+                    if (parts.length >= 2) {
+                        requests.add(new WarmupRequest(parts[0].toUpperCase(), parts[1], parts.length == 3 ? parts[2] : null));
+                    }
+                }
+            }
+            return requests;
+        }
+
+        List<String> selected = new ArrayList<>();
+        for (String route : routes.split(",")) {
+            if (!route.trim().isEmpty()) {
+                selected.add(route.trim());
+            }
+        }
+
+        for (Map.Entry<String, Map<String, ApplicationContext.ControllerMethod>> route : context.getRoutes().entrySet()) {
+            for (String method : route.getValue().keySet()) {
+                boolean chosen = selected.contains(method + " " + route.getKey())
+                        || "GET".equals(method) && (selected.isEmpty() || selected.contains(route.getKey()));
+                if (chosen) {
+                    String path = route.getKey().replaceAll("\\{[^}]+\\}", pathVariable);
+                    requests.add(new WarmupRequest(method, path, "GET".equals(method) ? null : "{}"));
+                }
+            }
+        }
+        return requests;
+    }
+
+    private InputStream openRequestsFile() throws IOException {
+        if (requestsFile.startsWith("classpath:")) {
+            InputStream in = getClass().getClassLoader().getResourceAsStream(requestsFile.substring("classpath:".length()));
+            if (in == null) {
+                throw new IOException("Warmup request file not found: " + requestsFile);
+            }
+            return in;
+        }
+        return Files.newInputStream(Path.of(requestsFile));
+    }
+
+    private static class WarmupRequest {
+        private final String method;
+        private final String path;
+        private final String body;
+
+        WarmupRequest(String method, String path, String body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        HttpRequest toHttpRequest(String baseUri) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json");
+            if (body == null) {
+                return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+            }
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package io.korus.web;
 
+import io.korus.config.ConfigChangeListener;
+import io.korus.config.ConfigSnapshot;
+import io.korus.config.ConfigurationManager;
+import io.korus.web.socket.WebSocketBroadcaster;
+import io.undertow.Handlers;
 import io.undertow.Undertow;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.PathHandler;
+import io.undertow.server.handlers.RequestLimit;
+import io.undertow.server.handlers.RequestLimitingHandler;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class WebServer {
 
     private Undertow server;
     private final int port;
     private HttpHandler handler;
+    private final Map<String, HttpHandler> webSocketHandlers = new LinkedHashMap<>();
+    private final ConfigChangeListener tuningListener = this::applyTuning;
+    private RequestLimit requestLimit;
 
     public WebServer(int port) {
         this.port = port;
@@ -17,17 +37,99 @@ public class WebServer {
         this.handler = handler;
     }
 
+    public void addWebSocketEndpoints(WebSocketBroadcaster broadcaster) {
+        for (String path : broadcaster.getPaths()) {
+            webSocketHandlers.put(path, broadcaster.createHandler(path));
+        }
+    }
+
     public void start() {
-        server = Undertow.builder()
+        start(true);
+    }
+
+    void start(boolean announce) {
+        HttpHandler rootHandler = handler;
+        if (!webSocketHandlers.isEmpty()) {
+            PathHandler pathHandler = Handlers.path(handler);
+            webSocketHandlers.forEach(pathHandler::addExactPath);
+            rootHandler = pathHandler;
+        }
+
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ConfigSnapshot settings = config.getSnapshot();
+        int maxConcurrentRequests = settings.getInt("server.max-concurrent-requests", 0);
+        if (maxConcurrentRequests > 0) {
+            requestLimit = new RequestLimit(maxConcurrentRequests, settings.getInt("server.max-queued-requests", -1));
+            rootHandler = new RequestLimitingHandler(requestLimit, rootHandler);
+        }
+
+        Undertow.Builder builder = Undertow.builder()
                 .addHttpListener(port, "localhost")
-                .setHandler(handler)
-                .build();
+                .setHandler(rootHandler);
+        int ioThreads = settings.getInt("server.io-threads", 0);
+        if (ioThreads > 0) {
+            builder.setIoThreads(ioThreads);
+        }
+        int workerThreads = settings.getInt("server.worker-threads", 0);
+        if (workerThreads > 0) {
+            builder.setWorkerThreads(workerThreads);
+        }
+        server = builder.build();
 
         server.start();
-        System.out.println("Web server started on http://localhost:" + port);
+        config.addChangeListener("server.", tuningListener);
+        if (announce) {
+            System.out.println("Web server started on http://localhost:" + getPort());
+        }
+    }
+
+    public int getPort() {
+        if (server != null && !server.getListenerInfo().isEmpty()) {
+            SocketAddress address = server.getListenerInfo().get(0).getAddress();
+            if (address instanceof InetSocketAddress) {
+                return ((InetSocketAddress) address).getPort();
+            }
+        }
+        return port;
+    }
+
+    private void applyTuning(ConfigSnapshot previous, ConfigSnapshot current, Set<String> changedKeys) {
+        Undertow running = server;
+        if (running == null) {
+            return;
+        }
+        if (changedKeys.contains("server.worker-threads")) {
+            int workerThreads = current.getInt("server.worker-threads", 0);
+            if (workerThreads > 0) {
+                try {
+                    XnioWorker worker = running.getWorker();
+                    Integer currentMax = worker.getOption(Options.WORKER_TASK_MAX_THREADS);
+                    if (currentMax != null && workerThreads > currentMax) {
+                        worker.setOption(Options.WORKER_TASK_MAX_THREADS, workerThreads);
+                        worker.setOption(Options.WORKER_TASK_CORE_THREADS, workerThreads);
+                    } else {
+                        worker.setOption(Options.WORKER_TASK_CORE_THREADS, workerThreads);
+                        worker.setOption(Options.WORKER_TASK_MAX_THREADS, workerThreads);
+                    }
+                    System.out.println("Worker threads set to " + workerThreads);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Failed to resize worker pool: " + e.getMessage());
+                }
+            }
+        }
+        if (changedKeys.contains("server.max-concurrent-requests")) {
+            int maxConcurrentRequests = current.getInt("server.max-concurrent-requests", 0);
+            if (requestLimit != null && maxConcurrentRequests > 0) {
+                requestLimit.setMaximumConcurrentRequests(maxConcurrentRequests);
+                System.out.println("Concurrent request limit set to " + maxConcurrentRequests);
+            } else {
+                System.err.println("server.max-concurrent-requests can only be adjusted at runtime when a limit was set at startup");
+            }
+        }
     }
 
     public void stop() {
+        ConfigurationManager.getInstance().removeChangeListener(tuningListener);
         if (server != null) {
             server.stop();
         }
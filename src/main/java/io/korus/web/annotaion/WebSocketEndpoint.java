@@ -0,0 +1,17 @@
+package io.korus.web.annotaion;
+
+import io.korus.web.socket.SlowConsumerPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WebSocketEndpoint {
+    String value();
+    int queueCapacity() default 256;
+    SlowConsumerPolicy slowConsumerPolicy() default SlowConsumerPolicy.DROP_OLDEST;
+    int maxBinaryMessageSize() default 1024 * 1024;
+}
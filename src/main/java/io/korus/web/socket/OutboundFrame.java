@@ -0,0 +1,21 @@
+package io.korus.web.socket;
+
+import java.nio.ByteBuffer;
+
+final class OutboundFrame {
+    private final ByteBuffer payload;
+    private final boolean binary;
+
+    OutboundFrame(ByteBuffer payload, boolean binary) {
+        this.payload = payload;
+        this.binary = binary;
+    }
+
+    ByteBuffer view() {
+        return payload.duplicate();
+    }
+
+    boolean isBinary() {
+        return binary;
+    }
+}
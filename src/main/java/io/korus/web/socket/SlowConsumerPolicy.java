@@ -0,0 +1,7 @@
+package io.korus.web.socket;
+
+public enum SlowConsumerPolicy {
+    DROP_OLDEST,
+    DROP_NEWEST,
+    CLOSE
+}
@@ -0,0 +1,239 @@
+package io.korus.web.socket;
+
+import io.korus.web.MediaFormat;
+import io.korus.web.annotaion.WebSocketEndpoint;
+import io.undertow.Handlers;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.server.HttpHandler;
+import io.undertow.websockets.core.AbstractReceiveListener;
+import io.undertow.websockets.core.BufferedTextMessage;
+import io.undertow.websockets.core.CloseMessage;
+import io.undertow.websockets.core.StreamSourceFrameChannel;
+import io.undertow.websockets.core.WebSocketCallback;
+import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSockets;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class WebSocketBroadcaster {
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public void register(WebSocketHandler handler) {
+        WebSocketEndpoint annotation = null;
+        for (Class<?> type = handler.getClass(); type != null && annotation == null; type = type.getSuperclass()) {
+            annotation = type.getAnnotation(WebSocketEndpoint.class);
+        }
+        if (annotation == null) {
+            throw new IllegalArgumentException(handler.getClass().getSimpleName() + " is not annotated with @WebSocketEndpoint");
+        }
+        String path = annotation.value();
+        if (endpoints.containsKey(path)) {
+            throw new RuntimeException("DUPLICATE WEBSOCKET ENDPOINT: " + path + " is mapped to both "
+                    + endpoints.get(path).handler.getClass().getSimpleName() + " and " + handler.getClass().getSimpleName());
+        }
+        endpoints.put(path, new Endpoint(path, handler, annotation.queueCapacity(), annotation.slowConsumerPolicy(),
+                annotation.maxBinaryMessageSize()));
+    }
+
+    public void clear() {
+        endpoints.clear();
+    }
+
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(endpoints.keySet());
+    }
+
+    public Set<WebSocketSession> getSessions(String path) {
+        Endpoint endpoint = endpoints.get(path);
+        return endpoint != null ? Collections.unmodifiableSet(endpoint.sessions) : Collections.emptySet();
+    }
+
+    public HttpHandler createHandler(String path) {
+        Endpoint endpoint = requireEndpoint(path);
+        return Handlers.websocket((exchange, channel) -> endpoint.open(channel));
+    }
+
+    public int broadcast(String path, Object message) throws IOException {
+        Endpoint endpoint = requireEndpoint(path);
+        OutboundFrame frame = encode(message);
+        int delivered = 0;
+        for (WebSocketSession session : endpoint.sessions) {
+            if (session.isOpen()) {
+                session.enqueue(frame);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private OutboundFrame encode(Object message) throws IOException {
+        if (message instanceof String) {
+            return new OutboundFrame(ByteBuffer.wrap(((String) message).getBytes(StandardCharsets.UTF_8)), false);
+        }
+        if (message instanceof byte[]) {
+            return new OutboundFrame(ByteBuffer.wrap((byte[]) message), true);
+        }
+        byte[] payload = MediaFormat.JSON.writer(message.getClass()).writeValueAsBytes(message);
+        return new OutboundFrame(ByteBuffer.wrap(payload), false);
+    }
+
+    private Endpoint requireEndpoint(String path) {
+        Endpoint endpoint = endpoints.get(path);
+        if (endpoint == null) {
+            throw new IllegalArgumentException("No WebSocket endpoint registered for " + path);
+        }
+        return endpoint;
+    }
+
+    private static class Endpoint {
+        private final String path;
+        private final WebSocketHandler handler;
+        private final int queueCapacity;
+        private final SlowConsumerPolicy slowConsumerPolicy;
+        private final int maxBinaryMessageSize;
+        private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+        Endpoint(String path, WebSocketHandler handler, int queueCapacity, SlowConsumerPolicy slowConsumerPolicy,
+                 int maxBinaryMessageSize) {
+            this.path = path;
+            this.handler = handler;
+            this.queueCapacity = queueCapacity;
+            this.slowConsumerPolicy = slowConsumerPolicy;
+            this.maxBinaryMessageSize = maxBinaryMessageSize;
+        }
+
+        void open(WebSocketChannel channel) {
+            WebSocketSession session = new WebSocketSession(path, channel, queueCapacity, slowConsumerPolicy);
+            sessions.add(session);
+            channel.addCloseTask(closed -> {
+                if (sessions.remove(session)) {
+                    handler.onClose(session);
+                }
+            });
+
+            channel.getReceiveSetter().set(new AbstractReceiveListener() {
+                @Override
+                protected void onFullTextMessage(WebSocketChannel channel, BufferedTextMessage message) {
+                    handler.onMessage(session, message.getData());
+                }
+
+                @Override
+                protected void onBinary(WebSocketChannel channel, StreamSourceFrameChannel frame) {
+                    new BinaryMessageReader(maxBinaryMessageSize, payload -> handler.onBinaryMessage(session, payload),
+                            error -> onError(channel, error)).handleEvent(frame);
+                }
+
+                @Override
+                protected void onError(WebSocketChannel channel, Throwable error) {
+                    handler.onError(session, error);
+                    super.onError(channel, error);
+                }
+            });
+            channel.resumeReceives();
+
+            handler.onOpen(session);
+        }
+    }
+
+    private static final class BinaryMessageReader implements ChannelListener<StreamSourceFrameChannel> {
+        private static final WebSocketCallback<Void> CLOSE_CHANNEL = new WebSocketCallback<Void>() {
+            @Override
+            public void complete(WebSocketChannel channel, Void context) {
+                IoUtils.safeClose(channel);
+            }
+
+            @Override
+            public void onError(WebSocketChannel channel, Void context, Throwable throwable) {
+                IoUtils.safeClose(channel);
+            }
+        };
+
+        private final int maxSize;
+        private final Consumer<byte[]> onMessage;
+        private final Consumer<IOException> onFailure;
+        private final List<PooledByteBuffer> buffers = new ArrayList<>();
+        private long received;
+
+        BinaryMessageReader(int maxSize, Consumer<byte[]> onMessage, Consumer<IOException> onFailure) {
+            this.maxSize = maxSize;
+            this.onMessage = onMessage;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public void handleEvent(StreamSourceFrameChannel frame) {
+            try {
+                while (true) {
+                    PooledByteBuffer current = buffers.isEmpty() ? null : buffers.get(buffers.size() - 1);
+                    if (current == null || !current.getBuffer().hasRemaining()) {
+                        current = frame.getWebSocketChannel().getBufferPool().allocate();
+                        buffers.add(current);
+                    }
+                    int read = frame.read(current.getBuffer());
+                    if (read == -1) {
+                        frame.suspendReads();
+                        onMessage.accept(drain());
+                        return;
+                    }
+                    if (read == 0) {
+                        frame.getReadSetter().set(this);
+                        frame.resumeReads();
+                        return;
+                    }
+                    received += read;
+                    if (received > maxSize) {
+                        release();
+                        frame.suspendReads();
+                        WebSockets.sendClose(CloseMessage.MSG_TOO_BIG, "Binary message exceeds " + maxSize + " bytes",
+                                frame.getWebSocketChannel(), CLOSE_CHANNEL);
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                release();
+                frame.suspendReads();
+                onFailure.accept(e);
+            }
+        }
+
+        private byte[] drain() {
+            try {
+                int size = 0;
+                for (PooledByteBuffer buffer : buffers) {
+                    size += buffer.getBuffer().position();
+                }
+                byte[] payload = new byte[size];
+                int offset = 0;
+                for (PooledByteBuffer buffer : buffers) {
+                    ByteBuffer data = buffer.getBuffer().flip();
+                    int length = data.remaining();
+                    data.get(payload, offset, length);
+                    offset += length;
+                }
+                return payload;
+            } finally {
+                release();
+            }
+        }
+
+        private void release() {
+            for (PooledByteBuffer buffer : buffers) {
+                buffer.close();
+            }
+            buffers.clear();
+        }
+    }
+}
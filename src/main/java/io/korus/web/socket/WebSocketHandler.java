@@ -0,0 +1,19 @@
+package io.korus.web.socket;
+
+public interface WebSocketHandler {
+
+    default void onOpen(WebSocketSession session) {
+    }
+
+    default void onMessage(WebSocketSession session, String message) {
+    }
+
+    default void onBinaryMessage(WebSocketSession session, byte[] message) {
+    }
+
+    default void onClose(WebSocketSession session) {
+    }
+
+    default void onError(WebSocketSession session, Throwable error) {
+    }
+}
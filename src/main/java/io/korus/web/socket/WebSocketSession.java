@@ -0,0 +1,131 @@
+package io.korus.web.socket;
+
+import io.korus.web.MediaFormat;
+import io.undertow.websockets.core.WebSocketCallback;
+import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSockets;
+import org.xnio.IoUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WebSocketSession {
+    private final String id = UUID.randomUUID().toString();
+    private final String path;
+    private final WebSocketChannel channel;
+    private final int queueCapacity;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Queue<OutboundFrame> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    private final WebSocketCallback<Void> sendCallback = new WebSocketCallback<Void>() {
+        @Override
+        public void complete(WebSocketChannel channel, Void context) {
+            sending.set(false);
+            drain();
+        }
+
+        @Override
+        public void onError(WebSocketChannel channel, Void context, Throwable throwable) {
+            sending.set(false);
+            close();
+        }
+    };
+
+    WebSocketSession(String path, WebSocketChannel channel, int queueCapacity, SlowConsumerPolicy slowConsumerPolicy) {
+        this.path = path;
+        this.channel = channel;
+        this.queueCapacity = queueCapacity;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    public String getId() { return id; }
+    public String getPath() { return path; }
+    public boolean isOpen() { return channel.isOpen(); }
+    public int getQueuedFrames() { return queued.get(); }
+    public long getDroppedFrames() { return dropped.get(); }
+    public Map<String, Object> getAttributes() { return attributes; }
+
+    public void send(String message) {
+        enqueue(new OutboundFrame(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)), false));
+    }
+
+    public void send(byte[] message) {
+        enqueue(new OutboundFrame(ByteBuffer.wrap(message), true));
+    }
+
+    public void send(Object message) throws IOException {
+        if (message instanceof String) {
+            send((String) message);
+        } else if (message instanceof byte[]) {
+            send((byte[]) message);
+        } else {
+            byte[] payload = MediaFormat.JSON.writer(message.getClass()).writeValueAsBytes(message);
+            enqueue(new OutboundFrame(ByteBuffer.wrap(payload), false));
+        }
+    }
+
+    public void close() {
+        outbound.clear();
+        queued.set(0);
+        IoUtils.safeClose(channel);
+    }
+
+    void enqueue(OutboundFrame frame) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            switch (slowConsumerPolicy) {
+                case DROP_NEWEST:
+                    queued.decrementAndGet();
+                    dropped.incrementAndGet();
+                    return;
+                case DROP_OLDEST:
+                    if (outbound.poll() != null) {
+                        queued.decrementAndGet();
+                    }
+                    dropped.incrementAndGet();
+                    break;
+                case CLOSE:
+                    dropped.incrementAndGet();
+                    close();
+                    return;
+            }
+        }
+        outbound.offer(frame);
+        drain();
+    }
+
+    private void drain() {
+        while (sending.compareAndSet(false, true)) {
+            OutboundFrame frame = outbound.poll();
+            if (frame == null) {
+                sending.set(false);
+                if (outbound.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            queued.decrementAndGet();
+            if (frame.isBinary()) {
+                WebSockets.sendBinary(frame.view(), channel, sendCallback);
+            } else {
+                WebSockets.sendText(frame.view(), channel, sendCallback);
+            }
+            return;
+        }
+    }
+}
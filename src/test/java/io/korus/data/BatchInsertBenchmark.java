@@ -0,0 +1,110 @@
+package io.korus.data;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class BatchInsertBenchmark {
+
+    private static final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+
+    static {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        System.out.printf("%-10s %10s %10s %12s %14s%n", "mode", "rows", "wall ms", "rows/sec", "peak heap MB");
+        try (SessionFactory sessionFactory = buildSessionFactory("unbatched", 0)) {
+            run("unbatched", new SimpleJpaRepository<>(sessionFactory, Row.class, 0, false), rows);
+        }
+        try (SessionFactory sessionFactory = buildSessionFactory("batched", batchSize)) {
+            run("batched", new SimpleJpaRepository<>(sessionFactory, Row.class, batchSize, false), rows);
+        }
+    }
+
+    private static void run(String mode, SimpleJpaRepository<Row, Long> repository, int rows) {
+        repository.saveAll(rows(Math.min(rows, 1_000)));
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        repository.saveAll(rows(rows));
+        long wallNanos = System.nanoTime() - start;
+
+        long peakBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakBytes += pool.getPeakUsage().getUsed();
+        }
+        System.out.printf("%-10s %10d %10.1f %12.0f %14.1f%n", mode, rows, wallNanos / 1e6,
+                rows / (wallNanos / 1e9), peakBytes / 1048576.0);
+    }
+
+    private static Iterable<Row> rows(int rows) {
+        return () -> new Iterator<>() {
+            private int created;
+
+            @Override
+            public boolean hasNext() {
+                return created < rows;
+            }
+
+            @Override
+            public Row next() {
+                return new Row(created++);
+            }
+        };
+    }
+
+    private static SessionFactory buildSessionFactory(String database, int batchSize) {
+        return new Configuration()
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.show_sql", "false")
+                .setProperty("hibernate.format_sql", "false")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", String.valueOf(batchSize > 0))
+                .setProperty("hibernate.order_updates", String.valueOf(batchSize > 0))
+                .addAnnotatedClass(Row.class)
+                .buildSessionFactory();
+    }
+
+    @Entity(name = "BenchmarkRow")
+    static class Row {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_row_seq")
+        @SequenceGenerator(name = "benchmark_row_seq", allocationSize = 50)
+        private Long id;
+        private String name;
+        private int quantity;
+        private double price;
+
+        Row() {
+        }
+
+        Row(int index) {
+            this.name = "row-" + index;
+            this.quantity = index % 100;
+            this.price = index * 0.01;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.korus.data.query;
+
+import io.korus.data.JpaRepository;
+import io.korus.data.annotation.Query;
+import io.korus.data.annotation.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookRepository extends JpaRepository<Book, Long> {
+
+    List<Book> findByAuthor(String author);
+
+    long countByAuthor(String author);
+
+    int deleteByAuthor(String author);
+
+    @Query("select b from Book b where b.title like ?1")
+    List<Book> findByTitlePattern(String pattern);
+}
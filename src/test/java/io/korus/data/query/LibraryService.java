@@ -0,0 +1,38 @@
+package io.korus.data.query;
+
+import io.korus.core.annotations.Service;
+import io.korus.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class LibraryService {
+
+    private final BookRepository books;
+
+    public LibraryService(BookRepository books) {
+        this.books = books;
+    }
+
+    @Transactional
+    public long[] catalogueAndRetire(String author) {
+        books.save(new Book("Dune", author));
+        books.save(new Book("Dune Messiah", author));
+        books.save(new Book("Neuromancer", "Gibson"));
+        List<Book> byAuthor = books.findByAuthor(author);
+        List<Book> byTitle = books.findByTitlePattern("Dune%");
+        long counted = books.countByAuthor(author);
+        int deleted = books.deleteByAuthor(author);
+        return new long[] {byAuthor.size(), byTitle.size(), counted, deleted, books.countByAuthor(author)};
+    }
+
+    @Transactional
+    public void retireAndFail(String author) {
+        books.deleteByAuthor(author);
+        throw new IllegalStateException("rolled back");
+    }
+
+    public long count(String author) {
+        return books.countByAuthor(author);
+    }
+}
@@ -0,0 +1,52 @@
+package io.korus.data.query;
+
+import io.korus.context.ApplicationContext;
+import io.korus.data.RequestSession;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RepositoryTransactionTest {
+
+    private static ApplicationContext context;
+    private static LibraryService library;
+
+    @BeforeAll
+    static void start() throws Exception {
+        context = new ApplicationContext();
+        context.scan("io.korus.data.query");
+        context.start();
+        library = context.getBean(LibraryService.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        context.getSessionFactory().close();
+    }
+
+    @Test
+    void derivedAndQueryMethodsShareOneConnection() {
+        RequestSession request = RequestSession.begin(null);
+        try {
+            long[] results = library.catalogueAndRetire("Herbert");
+
+            assertArrayEquals(new long[] {2, 2, 2, 2, 0}, results);
+            assertEquals(1, request.getConnectionAcquisitions());
+        } finally {
+            request.unbind();
+            request.close();
+        }
+    }
+
+    @Test
+    void derivedDeleteRollsBackWithTheTransaction() {
+        context.getBean(BookRepository.class).save(new Book("Foundation", "Asimov"));
+
+        assertThrows(IllegalStateException.class, () -> library.retireAndFail("Asimov"));
+        assertEquals(1, library.count("Asimov"));
+    }
+}
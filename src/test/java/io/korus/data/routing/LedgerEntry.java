@@ -0,0 +1,27 @@
+package io.korus.data.routing;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "ledger_entry")
+public class LedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String source;
+
+    public LedgerEntry() {
+    }
+
+    public LedgerEntry(String source) {
+        this.source = source;
+    }
+
+    public Long getId() { return id; }
+    public String getSource() { return source; }
+}
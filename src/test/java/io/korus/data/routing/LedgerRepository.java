@@ -0,0 +1,12 @@
+package io.korus.data.routing;
+
+import io.korus.data.JpaRepository;
+import io.korus.data.annotation.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerRepository extends JpaRepository<LedgerEntry, Long> {
+
+    List<LedgerEntry> findBySource(String source);
+}
@@ -0,0 +1,31 @@
+package io.korus.data.routing;
+
+import io.korus.core.annotations.Service;
+import io.korus.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class LedgerService {
+
+    private final LedgerRepository entries;
+
+    public LedgerService(LedgerRepository entries) {
+        this.entries = entries;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> report() {
+        return entries.findAll();
+    }
+
+    @Transactional
+    public LedgerEntry record(String source) {
+        return entries.save(new LedgerEntry(source));
+    }
+
+    @Transactional
+    public List<LedgerEntry> reconcile() {
+        return entries.findAll();
+    }
+}
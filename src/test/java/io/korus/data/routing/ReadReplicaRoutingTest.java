@@ -0,0 +1,144 @@
+package io.korus.data.routing;
+
+import io.korus.config.ConfigurationManager;
+import io.korus.context.ApplicationContext;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:korus;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:korus-replica;DB_CLOSE_DELAY=-1";
+
+    private static final Map<String, String> replicaSettings = new HashMap<>();
+
+    private static ApplicationContext context;
+    private static LedgerRepository repository;
+    private static LedgerService service;
+
+    @BeforeAll
+    static void start() throws Exception {
+        execute(REPLICA_URL, "create table ledger_entry (id bigint generated by default as identity primary key, source varchar(255))",
+                "insert into ledger_entry (source) values ('replica')");
+
+        replicaSettings.put("korus.datasource.replicas", "reporting");
+        replicaSettings.put("korus.datasource.replica.reporting.url", REPLICA_URL);
+        ConfigurationManager.getInstance().update(replicaSettings);
+
+        context = new ApplicationContext();
+        context.scan("io.korus.data.routing");
+        context.start();
+        repository = context.getBean(LedgerRepository.class);
+        service = context.getBean(LedgerService.class);
+        service.record("primary");
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        context.getSessionFactory().close();
+        replicaSettings.replaceAll((key, value) -> null);
+        ConfigurationManager.getInstance().update(replicaSettings);
+        execute(REPLICA_URL, "drop table ledger_entry");
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        assertEquals(List.of("replica"), sources(service.report()));
+    }
+
+    @Test
+    void repositoryReadsOutsideTransactionsReadFromReplica() {
+        assertEquals(List.of("replica"), sources(repository.findAll()));
+        assertEquals(1, repository.findBySource("replica").size());
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        assertFalse(sources(service.reconcile()).contains("replica"));
+    }
+
+    @Test
+    void writesGoToPrimary() throws Exception {
+        repository.save(new LedgerEntry("direct-write"));
+        service.record("transactional-write");
+
+        assertEquals(1, count(PRIMARY_URL, "direct-write"));
+        assertEquals(1, count(PRIMARY_URL, "transactional-write"));
+        assertEquals(0, count(REPLICA_URL, "direct-write"));
+        assertEquals(0, count(REPLICA_URL, "transactional-write"));
+    }
+
+    @Test
+    void readsAfterWriteInSameRequestUsePrimary() {
+        DataSourceRouting.beginRequest();
+        try {
+            assertEquals(List.of("replica"), sources(repository.findAll()));
+            repository.save(new LedgerEntry("request-write"));
+
+            assertTrue(sources(repository.findAll()).contains("request-write"));
+            assertTrue(sources(service.report()).contains("request-write"));
+        } finally {
+            DataSourceRouting.endRequest();
+        }
+        assertEquals(List.of("replica"), sources(repository.findAll()));
+    }
+
+    @Test
+    void replicaOutageFallsBackToPrimary() throws Exception {
+        JdbcDataSource primary = new JdbcDataSource();
+        primary.setURL(PRIMARY_URL);
+        primary.setUser("sa");
+        JdbcDataSource unavailable = new JdbcDataSource();
+        unavailable.setURL("jdbc:h2:mem:korus-missing;IFEXISTS=TRUE");
+        unavailable.setUser("sa");
+        RoutingConnectionProvider provider = new RoutingConnectionProvider(primary, Map.of("down", unavailable),
+                LoadBalancingPolicy.ROUND_ROBIN, true);
+
+        boolean previous = DataSourceRouting.routeToReplica(true);
+        try (Connection connection = provider.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select count(*) from ledger_entry where source = 'primary'")) {
+            rows.next();
+            assertEquals(1, rows.getLong(1));
+        } finally {
+            DataSourceRouting.restoreRoute(previous);
+        }
+    }
+
+    private static List<String> sources(List<LedgerEntry> entries) {
+        return entries.stream().map(LedgerEntry::getSource).toList();
+    }
+
+    private static long count(String url, String source) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select count(*) from ledger_entry where source = '" + source + "'")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
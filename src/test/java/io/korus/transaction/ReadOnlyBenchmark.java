@@ -0,0 +1,166 @@
+package io.korus.transaction;
+
+import io.korus.transaction.annotation.Transactional;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Method;
+import java.util.List;
+
+public class ReadOnlyBenchmark {
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Throwable {
+        int seedRows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Class<?> entityClass = Row.class;
+
+        try (SessionFactory sessionFactory = buildSessionFactory(entityClass)) {
+            seed(sessionFactory, seedRows);
+            TransactionManager transactionManager = new TransactionManager(sessionFactory);
+            Method readWrite = ReadOnlyBenchmark.class.getDeclaredMethod("readWrite");
+            Method readOnly = ReadOnlyBenchmark.class.getDeclaredMethod("readOnly");
+            String query = "from BenchmarkRow";
+
+            for (int i = 0; i < 2; i++) {
+                load(transactionManager, readWrite, query, entityClass, false);
+                load(transactionManager, readOnly, query, entityClass, false);
+            }
+
+            Result baseline = new Result("read-write");
+            Result optimized = new Result("read-only");
+            for (int i = 0; i < rounds; i++) {
+                baseline.add(load(transactionManager, readWrite, query, entityClass, false));
+                optimized.add(load(transactionManager, readOnly, query, entityClass, false));
+            }
+            baseline.retainedBytes = load(transactionManager, readWrite, query, entityClass, true)[3];
+            optimized.retainedBytes = load(transactionManager, readOnly, query, entityClass, true)[3];
+
+            System.out.printf("%-12s %8s %10s %10s %14s %14s%n", "mode", "rows", "wall ms", "cpu ms", "allocated MB", "retained MB");
+            baseline.print(rounds);
+            optimized.print(rounds);
+        }
+    }
+
+    @Transactional
+    private void readWrite() {
+    }
+
+    @Transactional(readOnly = true)
+    private void readOnly() {
+    }
+
+    private static long[] load(TransactionManager transactionManager, Method method, String query,
+                               Class<?> entityClass, boolean measureRetained) throws Throwable {
+        long[] sample = new long[4];
+        long wallStart = System.nanoTime();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        long heapStart = measureRetained ? usedHeapAfterGc() : 0;
+
+        transactionManager.executeInTransaction(method, method.getAnnotation(Transactional.class), () -> {
+            List<?> rows = TransactionContext.getCurrentTransaction().getSession()
+                    .createQuery(query, entityClass).getResultList();
+            sample[0] = rows.size();
+            if (measureRetained) {
+                sample[3] = usedHeapAfterGc() - heapStart;
+            }
+            return null;
+        });
+
+        sample[1] = System.nanoTime() - wallStart;
+        sample[2] = threads.getCurrentThreadCpuTime() - cpuStart;
+        if (!measureRetained) {
+            sample[3] = threads.getCurrentThreadAllocatedBytes() - allocatedStart;
+        }
+        return sample;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void seed(SessionFactory sessionFactory, int rows) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.insert(new Row(i));
+            }
+            transaction.commit();
+        }
+    }
+
+    private static SessionFactory buildSessionFactory(Class<?> entityClass) {
+        return new Configuration()
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:read-only;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.show_sql", "false")
+                .setProperty("hibernate.format_sql", "false")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .addAnnotatedClass(entityClass)
+                .buildSessionFactory();
+    }
+
+    @Entity(name = "BenchmarkRow")
+    static class Row {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_row_seq")
+        @SequenceGenerator(name = "benchmark_row_seq", allocationSize = 50)
+        private Long id;
+        private String name;
+        private String description;
+        private int quantity;
+        private double price;
+
+        Row() {
+        }
+
+        Row(int index) {
+            this.name = "row-" + index;
+            this.description = "Seeded row number " + index + " for the read-only benchmark";
+            this.quantity = index % 100;
+            this.price = index * 0.01;
+        }
+    }
+
+    private static class Result {
+        private final String mode;
+        private long rows;
+        private long wallNanos;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long retainedBytes;
+
+        Result(String mode) {
+            this.mode = mode;
+        }
+
+        void add(long[] sample) {
+            rows = sample[0];
+            wallNanos += sample[1];
+            cpuNanos += sample[2];
+            allocatedBytes += sample[3];
+        }
+
+        void print(int rounds) {
+            System.out.printf("%-12s %8d %10.1f %10.1f %14.1f %14.1f%n", mode, rows,
+                    wallNanos / 1e6 / rounds, cpuNanos / 1e6 / rounds,
+                    allocatedBytes / 1048576.0 / rounds, retainedBytes / 1048576.0);
+        }
+    }
+}